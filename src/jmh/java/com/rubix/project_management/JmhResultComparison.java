@@ -0,0 +1,76 @@
+package com.rubix.project_management;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+
+// Compares a JMH JSON result with a baseline run and fails when a benchmark got slower by more
+// than the threshold percentage beyond both runs' error margins. Without a baseline it only
+// prints how to create one. Usage: JmhResultComparison <baseline.json> <current.json> <threshold%>
+public class JmhResultComparison {
+
+    public static void main(String[] args) throws IOException {
+        File baselineFile = new File(args[0]);
+        File currentFile = new File(args[1]);
+        double threshold = Double.parseDouble(args[2]);
+        if (!baselineFile.isFile()) {
+            System.out.printf("No JMH baseline at %s; copy %s there to compare future runs against it%n",
+                    baselineFile, currentFile);
+            return;
+        }
+
+        ObjectMapper objectMapper = new ObjectMapper();
+        Map<String, JsonNode> baseline = new HashMap<>();
+        for (JsonNode run : objectMapper.readTree(baselineFile)) {
+            baseline.put(key(run), run.get("primaryMetric"));
+        }
+
+        int regressions = 0;
+        System.out.printf("%n%-90s %14s %14s %9s%n", "benchmark", "baseline", "current", "change");
+        for (JsonNode run : objectMapper.readTree(currentFile)) {
+            JsonNode before = baseline.get(key(run));
+            if (before == null) {
+                continue;
+            }
+            JsonNode after = run.get("primaryMetric");
+            double change = relativeChange(run.get("mode").asText(), before.get("score").asDouble(),
+                    after.get("score").asDouble());
+            double noise = 100 * (error(before) / before.get("score").asDouble() + error(after) / after.get("score").asDouble());
+            boolean regressed = change > threshold + noise;
+            if (regressed) {
+                regressions++;
+            }
+            System.out.printf("%-90s %14.3f %14.3f %+8.1f%%%s%n", key(run), before.get("score").asDouble(),
+                    after.get("score").asDouble(), change, regressed ? "  REGRESSION" : "");
+        }
+        if (regressions > 0) {
+            System.out.printf("%d benchmark(s) regressed by more than %.0f%%%n", regressions, threshold);
+            System.exit(1);
+        }
+    }
+
+    private static String key(JsonNode run) {
+        StringBuilder key = new StringBuilder(run.get("benchmark").asText());
+        JsonNode params = run.get("params");
+        if (params != null) {
+            params.fields().forEachRemaining(param -> key.append(' ').append(param.getKey()).append('=')
+                    .append(param.getValue().asText()));
+        }
+        return key.toString();
+    }
+
+    // Positive means slower, whatever the mode's unit direction
+    private static double relativeChange(String mode, double before, double after) {
+        double change = 100 * (after - before) / before;
+        return mode.equals("thrpt") ? -change : change;
+    }
+
+    private static double error(JsonNode metric) {
+        double error = metric.path("scoreError").asDouble(0);
+        return Double.isNaN(error) ? 0 : error;
+    }
+}
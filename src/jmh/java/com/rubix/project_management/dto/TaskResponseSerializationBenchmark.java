@@ -0,0 +1,83 @@
+package com.rubix.project_management.dto;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileGenerator;
+import com.rubix.project_management.enums.Priority;
+import com.rubix.project_management.enums.Status;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+// Jackson serialization of task lists per response encoding, with mappers configured like the
+// HTTP message converters (see ResponseEncodingConfig). Bodies are written to a reused stream
+// the way the converters write to the response; the bytes on the wire for each format, raw and
+// gzipped, are printed during setup.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TaskResponseSerializationBenchmark {
+
+    @Param({"json", "smile", "cbor"})
+    private String format;
+
+    @Param({"1000", "10000"})
+    private int size;
+
+    private ObjectMapper objectMapper;
+    private List<TaskResponse> tasks;
+    private ByteArrayOutputStream out;
+
+    @Setup
+    public void setUp() throws IOException {
+        objectMapper = switch (format) {
+            case "json" -> Jackson2ObjectMapperBuilder.json().build();
+            case "smile" -> Jackson2ObjectMapperBuilder.json().factory(SmileFactory.builder()
+                    .enable(SmileGenerator.Feature.CHECK_SHARED_STRING_VALUES).build()).build();
+            case "cbor" -> Jackson2ObjectMapperBuilder.json().factory(new CBORFactory()).build();
+            default -> throw new IllegalArgumentException(format);
+        };
+        LocalDateTime now = LocalDateTime.now();
+        tasks = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            tasks.add(new TaskResponse((long) i, "Task " + i, "Description of task " + i,
+                    Status.values()[i % Status.values().length], Priority.values()[i % Priority.values().length],
+                    i % 3 == 0 ? null : LocalDate.now().plusDays(i % 30), 1L, now, now, 0L));
+        }
+        out = new ByteArrayOutputStream(size * 256);
+
+        int raw = serialize();
+        int gzipped = serializeGzip();
+        System.out.printf("%n%s, %d tasks: %d bytes, %d bytes gzipped%n", format, size, raw, gzipped);
+    }
+
+    @Benchmark
+    public int serialize() throws IOException {
+        out.reset();
+        objectMapper.writeValue(out, tasks);
+        return out.size();
+    }
+
+    // Serialization plus the server's gzip (Tomcat uses the default deflate level)
+    @Benchmark
+    public int serializeGzip() throws IOException {
+        out.reset();
+        try (OutputStream gzip = new GZIPOutputStream(out, 8192)) {
+            objectMapper.writeValue(gzip, tasks);
+        }
+        return out.size();
+    }
+}
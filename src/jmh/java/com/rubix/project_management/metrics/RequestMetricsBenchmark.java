@@ -0,0 +1,88 @@
+package com.rubix.project_management.metrics;
+
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.config.MeterFilter;
+import io.micrometer.core.instrument.distribution.DistributionStatisticConfig;
+import io.micrometer.prometheusmetrics.PrometheusConfig;
+import io.micrometer.prometheusmetrics.PrometheusMeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.method.HandlerMethod;
+
+import java.util.concurrent.TimeUnit;
+
+// Per-request cost of the request metrics: RequestMetricsFilter, HandlerTimingInterceptor, three
+// statement callbacks and the JWT timer, recording into a Prometheus registry with histograms on
+// as configured in application.properties. "bare" runs the same simulated request uninstrumented.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RequestMetricsBenchmark {
+
+    private RequestMetricsFilter filter;
+    private HandlerTimingInterceptor interceptor;
+    private Timer jwtTimer;
+    private HandlerMethod handler;
+
+    @Setup
+    public void setUp() throws NoSuchMethodException {
+        PrometheusMeterRegistry registry = new PrometheusMeterRegistry(PrometheusConfig.DEFAULT);
+        registry.config().meterFilter(new MeterFilter() {
+            @Override
+            public DistributionStatisticConfig configure(Meter.Id id, DistributionStatisticConfig config) {
+                return DistributionStatisticConfig.builder().percentilesHistogram(true).build().merge(config);
+            }
+        });
+        RequestMetrics requestMetrics = new RequestMetrics(registry);
+        filter = new RequestMetricsFilter(requestMetrics);
+        interceptor = new HandlerTimingInterceptor(requestMetrics);
+        jwtTimer = Timer.builder("app.security.jwt").register(registry);
+        handler = new HandlerMethod(this, RequestMetricsBenchmark.class.getMethod("handle"));
+    }
+
+    public int handle() {
+        return 0;
+    }
+
+    @Benchmark
+    public int bare() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/projects/1/tasks");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        simulateRequest(request, response, false);
+        return response.getStatus();
+    }
+
+    @Benchmark
+    public int instrumented() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/projects/1/tasks");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, (req, res) ->
+                simulateRequest((HttpServletRequest) req, (HttpServletResponse) res, true));
+        return response.getStatus();
+    }
+
+    private void simulateRequest(HttpServletRequest request, HttpServletResponse response, boolean instrumented) {
+        long started = System.nanoTime();
+        if (instrumented) {
+            jwtTimer.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+            interceptor.preHandle(request, response, handler);
+            RequestMetricsContext context = RequestMetricsContext.current();
+            for (int i = 0; i < 3; i++) {
+                context.statements++;
+                context.queryRows += 10;
+                context.entityLoads += 10;
+            }
+        }
+        response.setStatus(200);
+        if (instrumented) {
+            interceptor.afterCompletion(request, response, handler, null);
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package com.rubix.project_management.repository;
+
+import com.rubix.project_management.ProjectManagementApplication;
+import com.rubix.project_management.dto.TaskResponse;
+import com.rubix.project_management.enums.Priority;
+import com.rubix.project_management.enums.Status;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Task queries against an H2 database seeded with `tasks` rows spread over USERS users with
+// PROJECTS_PER_USER projects each. Change the size with: -Djmh.args="TaskQueryBenchmark -p tasks=500000"
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TaskQueryBenchmark {
+
+    private static final int USERS = 10;
+    private static final int PROJECTS_PER_USER = 10;
+    private static final String[] WORDS = {"database", "migration", "frontend", "review", "deploy",
+            "refactor", "invoice", "report", "security", "onboarding", "cache", "search"};
+
+    @Param({"100000"})
+    private int tasks;
+
+    private ConfigurableApplicationContext context;
+    private TaskRepository taskRepository;
+    private final Sort byDueDate = Sort.by("dueDate");
+
+    @Setup
+    public void setUp() {
+        context = new SpringApplicationBuilder(ProjectManagementApplication.class)
+                .web(WebApplicationType.NONE)
+                .run("--spring.datasource.url=jdbc:h2:mem:jmh",
+                        "--spring.jpa.show-sql=false",
+                        "--logging.level.root=WARN",
+                        "--logging.level.org.springframework.security=WARN",
+                        "--app.counters.reconcile-initial-delay=1d");
+        taskRepository = context.getBean(TaskRepository.class);
+        seed(context.getBean(JdbcTemplate.class));
+    }
+
+    private void seed(JdbcTemplate jdbc) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> users = new ArrayList<>();
+        List<Object[]> projects = new ArrayList<>();
+        for (long user = 1; user <= USERS; user++) {
+            users.add(new Object[]{user, "user" + user, "user" + user + "@example.com", "x", now, now});
+            for (int p = 0; p < PROJECTS_PER_USER; p++) {
+                long projectId = (user - 1) * PROJECTS_PER_USER + p + 1;
+                projects.add(new Object[]{projectId, "Project " + projectId, user, now, now});
+            }
+        }
+        jdbc.batchUpdate("INSERT INTO users (id, username, email, password, created_at, updated_at) " +
+                "VALUES (?, ?, ?, ?, ?, ?)", users);
+        jdbc.batchUpdate("INSERT INTO projects (id, name, user_id, created_at, updated_at) " +
+                "VALUES (?, ?, ?, ?, ?)", projects);
+
+        List<Object[]> rows = new ArrayList<>();
+        int projectCount = USERS * PROJECTS_PER_USER;
+        for (int i = 1; i <= tasks; i++) {
+            String title = WORDS[i % WORDS.length] + " " + WORDS[(i / WORDS.length) % WORDS.length] + " " + i;
+            rows.add(new Object[]{(long) i, title, "Details about " + WORDS[(i * 7) % WORDS.length],
+                    Status.values()[i % 3].name(), Priority.values()[(i / 3) % 3].name(),
+                    i % 5 == 0 ? null : java.sql.Date.valueOf(LocalDateTime.now().toLocalDate().plusDays(i % 90)),
+                    (long) (i % projectCount) + 1, now, now});
+            if (rows.size() == 5_000 || i == tasks) {
+                jdbc.batchUpdate("INSERT INTO tasks (id, title, description, status, priority, due_date, " +
+                        "project_id, created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)", rows);
+                rows.clear();
+            }
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<TaskResponse> searchTasksByUser() {
+        return taskRepository.searchTasksByUser(1L, "migration", byDueDate, Limit.of(50));
+    }
+
+    @Benchmark
+    public List<TaskResponse> findByProjectIdWithFilters() {
+        return taskRepository.findByProjectIdWithFilters(1L, Status.PENDING, Priority.HIGH, byDueDate);
+    }
+
+    @Benchmark
+    public List<TaskResponse> findByProjectIdUnfiltered() {
+        return taskRepository.findByProjectIdWithFilters(1L, null, null, byDueDate);
+    }
+}
@@ -0,0 +1,45 @@
+package com.rubix.project_management.security;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+// Token issue on login/register and the per-request validation path, with the verification cache off
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtBenchmark {
+
+    private JwtUtil jwtUtil;
+    private AuthenticatedUser user;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        jwtUtil = new JwtUtil();
+        ReflectionTestUtils.setField(jwtUtil, "secret", "5367566B59703373367639792F423F4528482B4D6251655468576D5A71347437");
+        ReflectionTestUtils.setField(jwtUtil, "expiration", 86_400_000L);
+        ReflectionTestUtils.setField(jwtUtil, "verificationCacheEnabled", false);
+        ReflectionTestUtils.setField(jwtUtil, "verificationCacheMaximumSize", 0L);
+        ReflectionTestUtils.setField(jwtUtil, "verificationCacheTtl", Duration.ZERO);
+        jwtUtil.init();
+        user = new AuthenticatedUser(42L, "bench", "", AuthorityUtils.createAuthorityList("ROLE_USER"));
+        token = jwtUtil.generateToken(user, user.getId());
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return jwtUtil.generateToken(user, user.getId());
+    }
+
+    @Benchmark
+    public Boolean validateToken() {
+        return jwtUtil.validateToken(token, user);
+    }
+}
@@ -0,0 +1,86 @@
+package com.rubix.project_management.service;
+
+import com.rubix.project_management.ProjectManagementApplication;
+import com.rubix.project_management.dto.TaskResponse;
+import com.rubix.project_management.enums.Priority;
+import com.rubix.project_management.enums.Status;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// One project listing through TaskService, from query to List<TaskResponse>. Run with the GC
+// profiler to see allocation per listing: -Djmh.args="TaskListingBenchmark -prof gc"
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = {"-Xms1g", "-Xmx1g"})
+public class TaskListingBenchmark {
+
+    private static final long USER_ID = 1L;
+    private static final long PROJECT_ID = 1L;
+
+    @Param({"10000"})
+    private int tasks;
+
+    private ConfigurableApplicationContext context;
+    private TaskService taskService;
+
+    @Setup
+    public void setUp() {
+        context = new SpringApplicationBuilder(ProjectManagementApplication.class)
+                .web(WebApplicationType.NONE)
+                .run("--spring.datasource.url=jdbc:h2:mem:jmh-listing",
+                        "--spring.jpa.show-sql=false",
+                        "--logging.level.root=WARN",
+                        "--logging.level.org.springframework.security=WARN",
+                        "--app.counters.reconcile-initial-delay=1d");
+        taskService = context.getBean(TaskService.class);
+        seed(context.getBean(JdbcTemplate.class));
+    }
+
+    private void seed(JdbcTemplate jdbc) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        jdbc.update("INSERT INTO users (id, username, email, password, created_at, updated_at) " +
+                "VALUES (?, 'lister', 'lister@example.com', 'x', ?, ?)", USER_ID, now, now);
+        jdbc.update("INSERT INTO projects (id, name, user_id, created_at, updated_at) " +
+                "VALUES (?, 'Listing', ?, ?, ?)", PROJECT_ID, USER_ID, now, now);
+
+        List<Object[]> rows = new ArrayList<>();
+        for (int i = 1; i <= tasks; i++) {
+            rows.add(new Object[]{(long) i, "Task " + i, "Details about task " + i,
+                    Status.values()[i % 3].name(), Priority.values()[(i / 3) % 3].name(),
+                    java.sql.Date.valueOf(LocalDateTime.now().toLocalDate().plusDays(i % 90)),
+                    PROJECT_ID, now, now});
+            if (rows.size() == 5_000 || i == tasks) {
+                jdbc.batchUpdate("INSERT INTO tasks (id, title, description, status, priority, due_date, " +
+                        "project_id, created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)", rows);
+                rows.clear();
+            }
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<TaskResponse> listProjectTasks() {
+        return taskService.getAllTasks(USER_ID, PROJECT_ID, null, null, "dueDate");
+    }
+
+    @Benchmark
+    public List<TaskResponse> listProjectTasksFiltered() {
+        return taskService.getAllTasks(USER_ID, PROJECT_ID, Status.PENDING, null, "dueDate");
+    }
+}
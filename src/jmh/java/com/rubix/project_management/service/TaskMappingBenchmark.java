@@ -0,0 +1,57 @@
+package com.rubix.project_management.service;
+
+import com.rubix.project_management.dto.TaskResponse;
+import com.rubix.project_management.entity.Project;
+import com.rubix.project_management.entity.Task;
+import com.rubix.project_management.enums.Priority;
+import com.rubix.project_management.enums.Status;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Entity to DTO mapping as done for every task list response
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TaskMappingBenchmark {
+
+    @Param({"1000", "100000"})
+    private int size;
+
+    private List<Task> tasks;
+
+    @Setup
+    public void setUp() {
+        Project project = new Project();
+        project.setId(1L);
+        LocalDateTime now = LocalDateTime.now();
+        tasks = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            Task task = new Task();
+            task.setId((long) i);
+            task.setTitle("Task " + i);
+            task.setDescription("Description of task " + i);
+            task.setStatus(Status.values()[i % Status.values().length]);
+            task.setPriority(Priority.values()[i % Priority.values().length]);
+            task.setDueDate(i % 3 == 0 ? null : LocalDate.now().plusDays(i % 30));
+            task.setProject(project);
+            task.setCreatedAt(now);
+            task.setUpdatedAt(now);
+            tasks.add(task);
+        }
+    }
+
+    @Benchmark
+    public List<TaskResponse> mapToResponse() {
+        return tasks.stream()
+                .map(TaskService::mapToResponse)
+                .toList();
+    }
+}
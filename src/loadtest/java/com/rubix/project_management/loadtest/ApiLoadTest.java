@@ -0,0 +1,144 @@
+package com.rubix.project_management.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.rubix.project_management.ProjectManagementApplication;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Boots the application on a random port with its own in-memory database, registers and seeds
+// the users through the API, then drives the configured request mix at the target rate.
+// Run with: mvn test -Ploadtest [-Dloadtest.rate=200 -Dloadtest.duration=60s ...]
+@Tag("loadtest")
+class ApiLoadTest {
+
+    // Registration and login hash passwords with BCrypt; more parallel seeding only queues on the CPU
+    private static final int SEED_CONCURRENCY = 4;
+
+    @Test
+    void runLoadMix() throws Exception {
+        LoadTestConfig config = new LoadTestConfig();
+        System.out.println("Load test: " + config);
+
+        List<String> args = new ArrayList<>(List.of(
+                "--server.port=0",
+                "--spring.datasource.url=jdbc:h2:mem:loadtest",
+                "--spring.jpa.show-sql=false",
+                "--logging.level.root=WARN",
+                "--logging.level.org.springframework.security=WARN"));
+        args.addAll(Arrays.asList(config.appArgs));
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(ProjectManagementApplication.class)
+                .run(args.toArray(String[]::new));
+        try {
+            ApiClient api = new ApiClient(((WebServerApplicationContext) context).getWebServer().getPort());
+            long seedStart = System.nanoTime();
+            List<VirtualUser> users = seed(api, config);
+            System.out.printf("Seeded %d users in %.1f s%n", users.size(), (System.nanoTime() - seedStart) / 1e9);
+
+            LoadGenerator generator = new LoadGenerator(api, users, config.mix, config.maxInFlight);
+            generator.run(config.rate, config.warmup);
+            LoadGenerator.Result result = generator.run(config.rate, config.duration);
+
+            print(config, result);
+            writeReport(config, result);
+            double errorRate = result.requests() == 0 ? 1 : (double) result.errors() / result.requests();
+            assertTrue(errorRate <= config.maxErrorRate,
+                    String.format("error rate %.2f%% above loadtest.max-error-rate", errorRate * 100));
+        } finally {
+            context.close();
+        }
+    }
+
+    private List<VirtualUser> seed(ApiClient api, LoadTestConfig config) throws Exception {
+        Semaphore permits = new Semaphore(SEED_CONCURRENCY);
+        List<Future<VirtualUser>> futures = new ArrayList<>();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < config.users; i++) {
+                int index = i;
+                futures.add(executor.submit(() -> {
+                    permits.acquire();
+                    try {
+                        return seedUser(api, config, index);
+                    } finally {
+                        permits.release();
+                    }
+                }));
+            }
+        }
+        List<VirtualUser> users = new ArrayList<>();
+        for (Future<VirtualUser> future : futures) {
+            users.add(future.get());
+        }
+        return users;
+    }
+
+    private VirtualUser seedUser(ApiClient api, LoadTestConfig config, int index) throws Exception {
+        VirtualUser user = new VirtualUser("load" + index, "password" + index);
+        user.token = api.sendForJson("POST", "/api/auth/register", null, api.json(Map.of(
+                "username", user.username,
+                "email", user.username + "@example.com",
+                "password", user.password))).get("token").asText();
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        for (int p = 0; p < config.projectsPerUser; p++) {
+            long projectId = api.sendForJson("POST", "/api/projects", user.token,
+                    api.json(Map.of("name", "Project " + p))).get("id").asLong();
+            user.projectIds.add(projectId);
+            List<Map<String, Object>> operations = new ArrayList<>();
+            for (int t = 0; t < config.tasksPerProject; t++) {
+                operations.add(Map.of("op", "CREATE", "task", LoadGenerator.task(random)));
+            }
+            JsonNode results = api.sendForJson("POST", "/api/projects/" + projectId + "/tasks/batch", user.token,
+                    api.json(Map.of("operations", operations)));
+            for (JsonNode result : results) {
+                user.seededTasks.add(new long[]{projectId, result.get("taskId").asLong()});
+            }
+        }
+        return user;
+    }
+
+    private static void print(LoadTestConfig config, LoadGenerator.Result result) {
+        System.out.printf("%n%-14s %9s %9s %7s %9s %9s %9s %9s %9s%n",
+                "endpoint", "requests", "req/s", "err %", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms");
+        result.stats().forEach((operation, stats) -> System.out.printf("%-14s %9d %9.1f %7.2f %9.1f %9.1f %9.1f %9.1f %9.1f%n",
+                operation.key(), stats.count(), stats.count() / result.seconds(),
+                stats.count() == 0 ? 0 : 100.0 * stats.errors() / stats.count(),
+                stats.percentileMillis(50), stats.percentileMillis(90), stats.percentileMillis(99),
+                stats.percentileMillis(99.9), stats.maxMillis()));
+        System.out.printf("%-14s %9d %9.1f %7.2f   (target %d req/s, %d not sent: max in flight reached)%n%n",
+                "total", result.requests(), result.requests() / result.seconds(),
+                result.requests() == 0 ? 0 : 100.0 * result.errors() / result.requests(), config.rate, result.dropped());
+    }
+
+    private static void writeReport(LoadTestConfig config, LoadGenerator.Result result) throws IOException {
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("config", config.toString());
+        report.put("seconds", result.seconds());
+        report.put("targetRate", config.rate);
+        report.put("requests", result.requests());
+        report.put("throughput", result.requests() / result.seconds());
+        report.put("errors", result.errors());
+        report.put("dropped", result.dropped());
+        Map<String, Object> endpoints = new LinkedHashMap<>();
+        result.stats().forEach((operation, stats) -> endpoints.put(operation.key(), stats.toReport(result.seconds())));
+        report.put("endpoints", endpoints);
+        File file = new File(config.report);
+        file.getParentFile().mkdirs();
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(file, report);
+        System.out.println("Load test report written to " + file.getAbsolutePath());
+    }
+}
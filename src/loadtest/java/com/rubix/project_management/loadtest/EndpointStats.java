@@ -0,0 +1,63 @@
+package com.rubix.project_management.loadtest;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+// Latencies in microseconds, measured from when the request was scheduled to go out, so time
+// spent queued behind a slow server counts (no coordinated omission)
+class EndpointStats {
+
+    private final Histogram latencies = new ConcurrentHistogram(TimeUnit.MINUTES.toMicros(5), 3);
+    private final LongAdder errors = new LongAdder();
+    private final Map<String, LongAdder> errorsByKind = new ConcurrentHashMap<>();
+
+    void record(long latencyNanos, String error) {
+        latencies.recordValue(Math.min(TimeUnit.NANOSECONDS.toMicros(latencyNanos), latencies.getHighestTrackableValue()));
+        if (error != null) {
+            errors.increment();
+            errorsByKind.computeIfAbsent(error, kind -> new LongAdder()).increment();
+        }
+    }
+
+    long count() {
+        return latencies.getTotalCount();
+    }
+
+    long errors() {
+        return errors.sum();
+    }
+
+    double percentileMillis(double percentile) {
+        return latencies.getValueAtPercentile(percentile) / 1000.0;
+    }
+
+    double maxMillis() {
+        return latencies.getMaxValue() / 1000.0;
+    }
+
+    Map<String, Object> toReport(double seconds) {
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("requests", count());
+        report.put("throughput", count() / seconds);
+        report.put("errors", errors());
+        report.put("errorRate", count() == 0 ? 0 : (double) errors() / count());
+        Map<String, Long> kinds = new TreeMap<>();
+        errorsByKind.forEach((kind, count) -> kinds.put(kind, count.sum()));
+        report.put("errorsByKind", kinds);
+        Map<String, Double> percentiles = new LinkedHashMap<>();
+        for (double percentile : new double[]{50, 90, 99, 99.9}) {
+            percentiles.put("p" + (percentile == (long) percentile ? String.valueOf((long) percentile) : String.valueOf(percentile)),
+                    percentileMillis(percentile));
+        }
+        percentiles.put("max", maxMillis());
+        report.put("latencyMillis", percentiles);
+        return report;
+    }
+}
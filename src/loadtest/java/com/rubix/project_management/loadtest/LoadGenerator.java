@@ -0,0 +1,162 @@
+package com.rubix.project_management.loadtest;
+
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+// Open-loop generator: requests are scheduled at a fixed rate whatever the response times, each
+// on its own virtual thread, so a slow server shows up as latency instead of a lower send rate
+class LoadGenerator {
+
+    static final String[] WORDS = {"database", "migration", "frontend", "review", "deploy", "refactor",
+            "invoice", "report", "security", "onboarding", "cache", "search", "billing", "mobile", "backup"};
+    private static final String[] STATUSES = {"PENDING", "IN_PROGRESS", "COMPLETED"};
+    private static final String[] PRIORITIES = {"LOW", "MEDIUM", "HIGH"};
+    private static final String[] SORTS = {"dueDate", "priority", "status", "title"};
+
+    private final ApiClient api;
+    private final List<VirtualUser> users;
+    private final Operation[] weighted;
+    private final int maxInFlight;
+
+    LoadGenerator(ApiClient api, List<VirtualUser> users, Map<Operation, Integer> mix, int maxInFlight) {
+        this.api = api;
+        this.users = users;
+        this.maxInFlight = maxInFlight;
+        List<Operation> operations = new ArrayList<>();
+        mix.forEach((operation, weight) -> operations.addAll(Collections.nCopies(weight, operation)));
+        this.weighted = operations.toArray(Operation[]::new);
+    }
+
+    Result run(int rate, Duration duration) {
+        Map<Operation, EndpointStats> stats = new EnumMap<>(Operation.class);
+        for (Operation operation : weighted) {
+            stats.putIfAbsent(operation, new EndpointStats());
+        }
+        LongAdder dropped = new LongAdder();
+        Semaphore inFlight = new Semaphore(maxInFlight);
+        long interval = 1_000_000_000L / rate;
+        long start = System.nanoTime();
+        long end = start + duration.toNanos();
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (long scheduled = start; scheduled < end; scheduled += interval) {
+                long wait = scheduled - System.nanoTime();
+                if (wait > 0) {
+                    LockSupport.parkNanos(wait);
+                }
+                if (!inFlight.tryAcquire()) {
+                    dropped.increment();
+                    continue;
+                }
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                Operation operation = weighted[random.nextInt(weighted.length)];
+                VirtualUser user = users.get(random.nextInt(users.size()));
+                long intendedStart = scheduled;
+                executor.execute(() -> {
+                    String error;
+                    try {
+                        error = execute(operation, user);
+                    } catch (Exception e) {
+                        error = e.getClass().getSimpleName();
+                    } finally {
+                        inFlight.release();
+                    }
+                    stats.get(operation).record(System.nanoTime() - intendedStart, error);
+                });
+            }
+        }
+        return new Result(stats, dropped.sum(), (System.nanoTime() - start) / 1e9);
+    }
+
+    // Returns null on success, otherwise a short error kind such as "500"
+    private String execute(Operation operation, VirtualUser user) throws Exception {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        HttpResponse<String> response = switch (operation) {
+            case LOGIN -> {
+                HttpResponse<String> login = api.send("POST", "/api/auth/login", null,
+                        api.json(Map.of("username", user.username, "password", user.password)));
+                if (login.statusCode() == 200) {
+                    user.token = api.parse(login.body()).get("token").asText();
+                }
+                yield login;
+            }
+            case LIST_PROJECTS -> api.send("GET", "/api/projects", user.token, null);
+            case CREATE_PROJECT -> {
+                HttpResponse<String> created = api.send("POST", "/api/projects", user.token,
+                        api.json(Map.of("name", "Project " + random.nextInt(1_000_000))));
+                if (created.statusCode() == 201) {
+                    user.projectIds.add(api.parse(created.body()).get("id").asLong());
+                }
+                yield created;
+            }
+            case CREATE_TASK -> createTask(user, random);
+            case GET_TASK -> {
+                long[] task = user.randomSeededTask();
+                yield api.send("GET", "/api/projects/" + task[0] + "/tasks/" + task[1], user.token, null);
+            }
+            case UPDATE_TASK -> {
+                long[] task = user.randomSeededTask();
+                yield api.send("PUT", "/api/projects/" + task[0] + "/tasks/" + task[1], user.token,
+                        api.json(task(random)));
+            }
+            case DELETE_TASK -> {
+                long[] task = user.createdTasks.poll();
+                // Nothing of this user's own to delete yet: create instead so the mix stays write-heavy
+                yield task == null
+                        ? createTask(user, random)
+                        : api.send("DELETE", "/api/projects/" + task[0] + "/tasks/" + task[1], user.token, null);
+            }
+            case LIST_TASKS -> api.send("GET", "/api/projects/" + user.randomProject() + "/tasks?status="
+                    + STATUSES[random.nextInt(3)] + "&priority=" + PRIORITIES[random.nextInt(3)]
+                    + "&sortBy=" + SORTS[random.nextInt(SORTS.length)], user.token, null);
+            case SEARCH -> api.send("GET", "/api/tasks/search?query=" + WORDS[random.nextInt(WORDS.length)],
+                    user.token, null);
+        };
+        if (response.statusCode() / 100 == 2) {
+            return null;
+        }
+        return String.valueOf(response.statusCode());
+    }
+
+    private HttpResponse<String> createTask(VirtualUser user, ThreadLocalRandom random) throws Exception {
+        long projectId = user.randomProject();
+        HttpResponse<String> created = api.send("POST", "/api/projects/" + projectId + "/tasks",
+                user.token, api.json(task(random)));
+        if (created.statusCode() == 201) {
+            user.createdTasks.add(new long[]{projectId, api.parse(created.body()).get("id").asLong()});
+        }
+        return created;
+    }
+
+    static Map<String, Object> task(ThreadLocalRandom random) {
+        Map<String, Object> task = new LinkedHashMap<>();
+        task.put("title", WORDS[random.nextInt(WORDS.length)] + " " + WORDS[random.nextInt(WORDS.length)]
+                + " " + random.nextInt(10_000));
+        task.put("description", "Follow up on the " + WORDS[random.nextInt(WORDS.length)] + " work");
+        task.put("status", STATUSES[random.nextInt(3)]);
+        task.put("priority", PRIORITIES[random.nextInt(3)]);
+        if (random.nextInt(4) > 0) {
+            task.put("dueDate", LocalDate.now().plusDays(random.nextInt(-30, 90)).toString());
+        }
+        return task;
+    }
+
+    record Result(Map<Operation, EndpointStats> stats, long dropped, double seconds) {
+
+        long requests() {
+            return stats.values().stream().mapToLong(EndpointStats::count).sum();
+        }
+
+        long errors() {
+            return stats.values().stream().mapToLong(EndpointStats::errors).sum();
+        }
+    }
+}
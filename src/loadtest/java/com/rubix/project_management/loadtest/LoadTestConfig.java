@@ -0,0 +1,60 @@
+package com.rubix.project_management.loadtest;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+
+// Load test settings from -Dloadtest.* system properties, e.g.
+// mvn test -Ploadtest -Dloadtest.users=100 -Dloadtest.rate=300 -Dloadtest.duration=60s -Dloadtest.mix=listTasks=50,search=50
+class LoadTestConfig {
+
+    final int users = Integer.getInteger("loadtest.users", 50);
+    final int projectsPerUser = Integer.getInteger("loadtest.projects-per-user", 3);
+    final int tasksPerProject = Integer.getInteger("loadtest.tasks-per-project", 40);
+    // Target request rate of the open-loop generator, requests per second
+    final int rate = Integer.getInteger("loadtest.rate", 100);
+    final Duration warmup = duration("loadtest.warmup", "10s");
+    final Duration duration = duration("loadtest.duration", "30s");
+    // Requests in flight beyond this are not sent and are reported as dropped
+    final int maxInFlight = Integer.getInteger("loadtest.max-in-flight", 1000);
+    final double maxErrorRate = Double.parseDouble(System.getProperty("loadtest.max-error-rate", "0.01"));
+    final String report = System.getProperty("loadtest.report", "target/loadtest-report.json");
+    final Map<Operation, Integer> mix = mix(System.getProperty("loadtest.mix", ""));
+    // Extra application arguments, e.g. -Dloadtest.app-args=--spring.threads.virtual.enabled=true
+    final String[] appArgs = System.getProperty("loadtest.app-args", "").isBlank()
+            ? new String[0] : System.getProperty("loadtest.app-args").trim().split("\\s+");
+
+    private static Duration duration(String property, String defaultValue) {
+        String value = System.getProperty(property, defaultValue).trim().toLowerCase();
+        if (value.endsWith("ms")) {
+            return Duration.ofMillis(Long.parseLong(value.substring(0, value.length() - 2)));
+        }
+        if (value.endsWith("m")) {
+            return Duration.ofMinutes(Long.parseLong(value.substring(0, value.length() - 1)));
+        }
+        return Duration.ofSeconds(Long.parseLong(value.endsWith("s") ? value.substring(0, value.length() - 1) : value));
+    }
+
+    // "listTasks=50,search=20" overrides those weights and drops every operation not listed
+    private static Map<Operation, Integer> mix(String value) {
+        Map<Operation, Integer> mix = new EnumMap<>(Operation.class);
+        if (value.isBlank()) {
+            for (Operation operation : Operation.values()) {
+                mix.put(operation, operation.defaultWeight());
+            }
+            return mix;
+        }
+        for (String entry : value.split(",")) {
+            String[] parts = entry.split("=");
+            mix.put(Operation.fromKey(parts[0].trim()), Integer.parseInt(parts[1].trim()));
+        }
+        return mix;
+    }
+
+    @Override
+    public String toString() {
+        return "users=" + users + ", projects/user=" + projectsPerUser + ", tasks/project=" + tasksPerProject
+                + ", rate=" + rate + "/s, warmup=" + warmup.toSeconds() + "s, duration=" + duration.toSeconds()
+                + "s, mix=" + mix;
+    }
+}
@@ -0,0 +1,39 @@
+package com.rubix.project_management.loadtest;
+
+// One kind of request in the load mix, with its weight when -Dloadtest.mix does not set one
+enum Operation {
+    LOGIN("login", 2),
+    LIST_PROJECTS("listProjects", 8),
+    CREATE_PROJECT("createProject", 1),
+    CREATE_TASK("createTask", 8),
+    GET_TASK("getTask", 20),
+    UPDATE_TASK("updateTask", 10),
+    DELETE_TASK("deleteTask", 4),
+    LIST_TASKS("listTasks", 30),
+    SEARCH("search", 17);
+
+    private final String key;
+    private final int defaultWeight;
+
+    Operation(String key, int defaultWeight) {
+        this.key = key;
+        this.defaultWeight = defaultWeight;
+    }
+
+    String key() {
+        return key;
+    }
+
+    int defaultWeight() {
+        return defaultWeight;
+    }
+
+    static Operation fromKey(String key) {
+        for (Operation operation : values()) {
+            if (operation.key.equalsIgnoreCase(key)) {
+                return operation;
+            }
+        }
+        throw new IllegalArgumentException("Unknown load test operation: " + key);
+    }
+}
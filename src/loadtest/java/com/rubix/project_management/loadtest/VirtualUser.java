@@ -0,0 +1,33 @@
+package com.rubix.project_management.loadtest;
+
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ThreadLocalRandom;
+
+// A registered user and the ids the generator can act on. Seeded tasks are only read and
+// updated; deletes take tasks the run created itself, so no request races a delete.
+class VirtualUser {
+
+    final String username;
+    final String password;
+    volatile String token;
+    final List<Long> projectIds = new CopyOnWriteArrayList<>();
+    final List<long[]> seededTasks = new CopyOnWriteArrayList<>();
+    final Queue<long[]> createdTasks = new ConcurrentLinkedQueue<>();
+
+    VirtualUser(String username, String password) {
+        this.username = username;
+        this.password = password;
+    }
+
+    long randomProject() {
+        return projectIds.get(ThreadLocalRandom.current().nextInt(projectIds.size()));
+    }
+
+    // {projectId, taskId}
+    long[] randomSeededTask() {
+        return seededTasks.get(ThreadLocalRandom.current().nextInt(seededTasks.size()));
+    }
+}
@@ -0,0 +1,52 @@
+package com.rubix.project_management.controller;
+
+import com.rubix.project_management.security.UserDetailsCache;
+import com.rubix.project_management.service.ProjectOwnershipCache;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/admin/caches")
+@RequiredArgsConstructor
+public class CacheAdminController {
+
+    private final UserDetailsCache userDetailsCache;
+    private final ProjectOwnershipCache projectOwnershipCache;
+
+    @GetMapping("/user-details")
+    public ResponseEntity<Map<String, Object>> userDetailsStats() {
+        return ResponseEntity.ok(userDetailsCache.stats());
+    }
+
+    @DeleteMapping("/user-details")
+    public ResponseEntity<Void> evictAllUserDetails() {
+        userDetailsCache.evictAll();
+        return ResponseEntity.noContent().build();
+    }
+
+    @DeleteMapping("/user-details/{username}")
+    public ResponseEntity<Void> evictUserDetails(@PathVariable String username) {
+        userDetailsCache.evict(username);
+        return ResponseEntity.noContent().build();
+    }
+
+    @GetMapping("/project-owners")
+    public ResponseEntity<Map<String, Object>> projectOwnersStats() {
+        return ResponseEntity.ok(projectOwnershipCache.stats());
+    }
+
+    @DeleteMapping("/project-owners")
+    public ResponseEntity<Void> evictAllProjectOwners() {
+        projectOwnershipCache.evictAll();
+        return ResponseEntity.noContent().build();
+    }
+
+    @DeleteMapping("/project-owners/{projectId}")
+    public ResponseEntity<Void> evictProjectOwner(@PathVariable Long projectId) {
+        projectOwnershipCache.evict(projectId);
+        return ResponseEntity.noContent().build();
+    }
+}
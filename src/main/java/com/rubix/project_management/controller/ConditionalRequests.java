@@ -0,0 +1,82 @@
+package com.rubix.project_management.controller;
+
+import com.rubix.project_management.dto.ResourceVersion;
+import org.springframework.http.ETag;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.context.request.WebRequest;
+
+import java.util.function.Supplier;
+
+// Conditional requests: handlers read the validators with a cheap query first and only
+// load and serialize the body when the client's copy is out of date
+final class ConditionalRequests {
+
+    private ConditionalRequests() {
+    }
+
+    // True when the response is already complete: 304 for a matching If-None-Match or
+    // If-Modified-Since on GET, 412 for a failed If-Match on PUT/DELETE
+    static boolean isHandled(WebRequest request, ResourceVersion version) {
+        return version != null && request.checkNotModified(version.getTag(), version.getLastModifiedMillis());
+    }
+
+    // If-Match/If-Unmodified-Since on PUT/DELETE: true (and 412) when the client's copy is stale.
+    // Without those headers no version is read.
+    static boolean isPreconditionFailed(WebRequest request, Supplier<ResourceVersion> version) {
+        if (request.getHeader(HttpHeaders.IF_MATCH) == null
+                && request.getHeader(HttpHeaders.IF_UNMODIFIED_SINCE) == null) {
+            return false;
+        }
+        return isHandled(request, version.get());
+    }
+
+    // If-Unmodified-Since on task writes, whose If-Match is checked by the write itself
+    // (expectedVersion). Ignored when If-Match is present, as RFC 9110 asks.
+    static boolean isUnmodifiedSinceFailed(WebRequest request, Supplier<ResourceVersion> version) {
+        if (request.getHeader(HttpHeaders.IF_MATCH) != null
+                || request.getHeader(HttpHeaders.IF_UNMODIFIED_SINCE) == null) {
+            return false;
+        }
+        return isHandled(request, version.get());
+    }
+
+    // If-Match on task writes, checked by the write itself rather than read first: the row version the
+    // client's tag names, null without the header or for *, and -1 (matches no row) for any other tag
+    static Long expectedVersion(WebRequest request, Long id) {
+        String ifMatch = request.getHeader(HttpHeaders.IF_MATCH);
+        if (ifMatch == null) {
+            return null;
+        }
+        for (ETag tag : ETag.parse(ifMatch)) {
+            if (tag.isWildcard()) {
+                return null;
+            }
+            Long version = tag.weak() ? null : ResourceVersion.versionOf(tag.tag(), id);
+            if (version != null) {
+                return version;
+            }
+        }
+        return -1L;
+    }
+
+    static <T> ResponseEntity<T> ok(T body, ResourceVersion version) {
+        return withValidators(ResponseEntity.ok(), version).body(body);
+    }
+
+    static ResponseEntity<Void> noContent(ResourceVersion version) {
+        return withValidators(ResponseEntity.status(HttpStatus.NO_CONTENT), version).build();
+    }
+
+    private static ResponseEntity.BodyBuilder withValidators(ResponseEntity.BodyBuilder response,
+                                                             ResourceVersion version) {
+        if (version != null) {
+            response.eTag(version.getTag());
+            if (version.getLastModified() != null) {
+                response.lastModified(version.getLastModifiedMillis());
+            }
+        }
+        return response;
+    }
+}
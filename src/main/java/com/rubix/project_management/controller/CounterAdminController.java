@@ -0,0 +1,20 @@
+package com.rubix.project_management.controller;
+
+import com.rubix.project_management.dto.CounterReconciliationReport;
+import com.rubix.project_management.service.TaskCounterService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/admin/counters")
+@RequiredArgsConstructor
+public class CounterAdminController {
+
+    private final TaskCounterService taskCounterService;
+
+    @PostMapping("/reconcile")
+    public ResponseEntity<CounterReconciliationReport> reconcile() {
+        return ResponseEntity.ok(taskCounterService.reconcile());
+    }
+}
@@ -1,15 +1,22 @@
 package com.rubix.project_management.controller;
 
 
+import com.rubix.project_management.dto.CursorPage;
+import com.rubix.project_management.dto.ProjectPatch;
 import com.rubix.project_management.dto.ProjectRequest;
 import com.rubix.project_management.dto.ProjectResponse;
+import com.rubix.project_management.dto.ProjectSummaryResponse;
+import com.rubix.project_management.dto.ResourceVersion;
+import com.rubix.project_management.security.AuthenticatedUser;
 import com.rubix.project_management.service.ProjectService;
+import com.rubix.project_management.service.TaskCounterService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.core.Authentication;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 
@@ -19,43 +26,97 @@ import java.util.List;
 public class ProjectController {
 
     private final ProjectService projectService;
+    private final TaskCounterService taskCounterService;
 
     @PostMapping
     public ResponseEntity<ProjectResponse> createProject(
-            Authentication authentication,
+            @AuthenticationPrincipal AuthenticatedUser user,
             @Valid @RequestBody ProjectRequest request) {
-        ProjectResponse response = projectService.createProject(authentication.getName(), request);
+        ProjectResponse response = projectService.createProject(user.getId(), request);
         return new ResponseEntity<>(response, HttpStatus.CREATED);
     }
 
     @GetMapping
-    public ResponseEntity<List<ProjectResponse>> getAllProjects(Authentication authentication) {
-        List<ProjectResponse> projects = projectService.getAllProjects(authentication.getName());
-        return ResponseEntity.ok(projects);
+    public ResponseEntity<List<ProjectResponse>> getAllProjects(@AuthenticationPrincipal AuthenticatedUser user,
+                                                                WebRequest request) {
+        // Read before the list: a write in between makes the next poll a 200, never a stale 304
+        ResourceVersion version = projectService.getProjectListVersion(user.getId());
+        if (ConditionalRequests.isHandled(request, version)) {
+            return null;
+        }
+        List<ProjectResponse> projects = projectService.getAllProjects(user.getId());
+        return ConditionalRequests.ok(projects, version);
+    }
+
+    @GetMapping(params = "limit")
+    public ResponseEntity<CursorPage<ProjectResponse>> getProjectsPage(
+            @AuthenticationPrincipal AuthenticatedUser user,
+            @RequestParam int limit,
+            @RequestParam(required = false) String after,
+            WebRequest request) {
+        ResourceVersion version = projectService.getProjectListVersion(user.getId());
+        if (ConditionalRequests.isHandled(request, version)) {
+            return null;
+        }
+        CursorPage<ProjectResponse> page = projectService.getProjectsPage(
+                user.getId(), limit, after);
+        return ConditionalRequests.ok(page, version);
+    }
+
+    @GetMapping("/summary")
+    public ResponseEntity<List<ProjectSummaryResponse>> getProjectSummaries(
+            @AuthenticationPrincipal AuthenticatedUser user) {
+        return ResponseEntity.ok(taskCounterService.getSummaries(user.getId()));
     }
 
     @GetMapping("/{id}")
     public ResponseEntity<ProjectResponse> getProjectById(
-            Authentication authentication,
-            @PathVariable Long id) {
-        ProjectResponse project = projectService.getProjectById(authentication.getName(), id);
-        return ResponseEntity.ok(project);
+            @AuthenticationPrincipal AuthenticatedUser user,
+            @PathVariable Long id,
+            WebRequest request) {
+        if (ConditionalRequests.isHandled(request, projectService.getProjectVersion(user.getId(), id))) {
+            return null;
+        }
+        ProjectResponse project = projectService.getProjectById(user.getId(), id);
+        return ConditionalRequests.ok(project, ResourceVersion.of(project.getId(), project.getVersion(), project.getUpdatedAt()));
     }
 
     @PutMapping("/{id}")
     public ResponseEntity<ProjectResponse> updateProject(
-            Authentication authentication,
+            @AuthenticationPrincipal AuthenticatedUser user,
             @PathVariable Long id,
-            @Valid @RequestBody ProjectRequest request) {
-        ProjectResponse response = projectService.updateProject(authentication.getName(), id, request);
-        return ResponseEntity.ok(response);
+            @Valid @RequestBody ProjectRequest request,
+            WebRequest webRequest) {
+        if (ConditionalRequests.isPreconditionFailed(webRequest,
+                () -> projectService.getProjectVersion(user.getId(), id))) {
+            return null;
+        }
+        ProjectResponse response = projectService.updateProject(user.getId(), id, request);
+        return ConditionalRequests.ok(response, ResourceVersion.of(response.getId(), response.getVersion(), response.getUpdatedAt()));
+    }
+
+    // JSON Merge Patch of name and description; see TaskController.patchTask
+    @PatchMapping(path = "/{id}", consumes = {"application/merge-patch+json", "application/json"})
+    public ResponseEntity<Void> patchProject(
+            @AuthenticationPrincipal AuthenticatedUser user,
+            @PathVariable Long id,
+            @Valid @RequestBody ProjectPatch patch,
+            WebRequest webRequest) {
+        ResourceVersion version = projectService.patchProject(user.getId(), id, patch,
+                ConditionalRequests.expectedVersion(webRequest, id));
+        return ConditionalRequests.noContent(version);
     }
 
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> deleteProject(
-            Authentication authentication,
-            @PathVariable Long id) {
-        projectService.deleteProject(authentication.getName(), id);
+            @AuthenticationPrincipal AuthenticatedUser user,
+            @PathVariable Long id,
+            WebRequest request) {
+        if (ConditionalRequests.isPreconditionFailed(request,
+                () -> projectService.getProjectVersion(user.getId(), id))) {
+            return null;
+        }
+        projectService.deleteProject(user.getId(), id);
         return ResponseEntity.noContent().build();
     }
 }
@@ -0,0 +1,21 @@
+package com.rubix.project_management.controller;
+
+import com.rubix.project_management.service.ProjectPurgeService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/admin/purge")
+@RequiredArgsConstructor
+public class PurgeAdminController {
+
+    private final ProjectPurgeService projectPurgeService;
+
+    @GetMapping
+    public ResponseEntity<Map<String, Object>> stats() {
+        return ResponseEntity.ok(projectPurgeService.stats());
+    }
+}
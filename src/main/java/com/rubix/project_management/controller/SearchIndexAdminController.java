@@ -0,0 +1,35 @@
+package com.rubix.project_management.controller;
+
+import com.rubix.project_management.search.IndexConsistencyReport;
+import com.rubix.project_management.search.TaskSearchIndex;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/admin/search-index")
+@RequiredArgsConstructor
+public class SearchIndexAdminController {
+
+    private final TaskSearchIndex taskSearchIndex;
+
+    @GetMapping
+    public ResponseEntity<Map<String, Object>> status() {
+        return ResponseEntity.ok(taskSearchIndex.status());
+    }
+
+    @PostMapping("/rebuild")
+    public ResponseEntity<Map<String, Object>> rebuild() {
+        boolean started = taskSearchIndex.rebuildAsync();
+        return new ResponseEntity<>(taskSearchIndex.status(),
+                started ? HttpStatus.ACCEPTED : HttpStatus.CONFLICT);
+    }
+
+    @GetMapping("/check")
+    public ResponseEntity<IndexConsistencyReport> check() {
+        return ResponseEntity.ok(taskSearchIndex.checkConsistency());
+    }
+}
@@ -0,0 +1,28 @@
+package com.rubix.project_management.controller;
+
+import com.rubix.project_management.dto.SyncResponse;
+import com.rubix.project_management.security.AuthenticatedUser;
+import com.rubix.project_management.service.SyncService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/sync")
+@RequiredArgsConstructor
+public class SyncController {
+
+    private final SyncService syncService;
+
+    // Without a watermark: everything. Pass the returned watermark on the next call
+    @GetMapping
+    public ResponseEntity<SyncResponse> sync(@AuthenticationPrincipal AuthenticatedUser user,
+                                             @RequestParam(required = false) String watermark,
+                                             @RequestParam(defaultValue = "500") int limit) {
+        return ResponseEntity.ok(syncService.sync(user.getId(), watermark, limit));
+    }
+}
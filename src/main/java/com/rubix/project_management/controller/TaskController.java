@@ -1,16 +1,30 @@
 package com.rubix.project_management.controller;
 
+import com.rubix.project_management.dto.CursorPage;
+import com.rubix.project_management.dto.ResourceVersion;
+import com.rubix.project_management.dto.TaskBatchRequest;
+import com.rubix.project_management.dto.TaskBatchResult;
+import com.rubix.project_management.dto.TaskHistoryResponse;
+import com.rubix.project_management.dto.TaskPatch;
 import com.rubix.project_management.dto.TaskRequest;
 import com.rubix.project_management.dto.TaskResponse;
+import com.rubix.project_management.dto.TaskStatusRequest;
 import com.rubix.project_management.enums.Priority;
 import com.rubix.project_management.enums.Status;
+import com.rubix.project_management.feed.ProjectChangeFeed;
+import com.rubix.project_management.security.AuthenticatedUser;
+import com.rubix.project_management.service.TaskCounterService;
+import com.rubix.project_management.service.TaskHistoryService;
 import com.rubix.project_management.service.TaskService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.core.Authentication;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.util.List;
 
@@ -20,64 +34,164 @@ import java.util.List;
 public class TaskController {
 
     private final TaskService taskService;
+    private final TaskCounterService taskCounterService;
+    private final TaskHistoryService taskHistoryService;
+    private final ProjectChangeFeed projectChangeFeed;
 
     @PostMapping
     public ResponseEntity<TaskResponse> createTask(
-            Authentication authentication,
+            @AuthenticationPrincipal AuthenticatedUser user,
             @PathVariable Long projectId,
             @Valid @RequestBody TaskRequest request) {
-        TaskResponse response = taskService.createTask(authentication.getName(), projectId, request);
+        TaskResponse response = taskService.createTask(user.getId(), projectId, request);
         return new ResponseEntity<>(response, HttpStatus.CREATED);
     }
 
+    @PostMapping("/batch")
+    public ResponseEntity<List<TaskBatchResult>> applyBatch(
+            @AuthenticationPrincipal AuthenticatedUser user,
+            @PathVariable Long projectId,
+            @Valid @RequestBody TaskBatchRequest request) {
+        List<TaskBatchResult> results = taskService.applyBatch(user.getId(), projectId, request.getOperations());
+        return ResponseEntity.ok(results);
+    }
+
     @GetMapping
     public ResponseEntity<List<TaskResponse>> getAllTasks(
-            Authentication authentication,
+            @AuthenticationPrincipal AuthenticatedUser user,
             @PathVariable Long projectId,
             @RequestParam(required = false) Status status,
             @RequestParam(required = false) Priority priority,
-            @RequestParam(required = false) String sortBy) {
+            @RequestParam(required = false) String sortBy,
+            WebRequest request) {
+        // Read before the list: a write in between makes the next poll a 200, never a stale 304
+        ResourceVersion version = taskCounterService.getTaskListVersion(user.getId(), projectId);
+        if (ConditionalRequests.isHandled(request, version)) {
+            return null;
+        }
         List<TaskResponse> tasks = taskService.getAllTasks(
-                authentication.getName(), projectId, status, priority, sortBy);
-        return ResponseEntity.ok(tasks);
+                user.getId(), projectId, status, priority, sortBy);
+        return ConditionalRequests.ok(tasks, version);
+    }
+
+    @GetMapping(params = "limit")
+    public ResponseEntity<CursorPage<TaskResponse>> getTasksPage(
+            @AuthenticationPrincipal AuthenticatedUser user,
+            @PathVariable Long projectId,
+            @RequestParam(required = false) Status status,
+            @RequestParam(required = false) Priority priority,
+            @RequestParam(required = false) String sortBy,
+            @RequestParam int limit,
+            @RequestParam(required = false) String after,
+            WebRequest request) {
+        ResourceVersion version = taskCounterService.getTaskListVersion(user.getId(), projectId);
+        if (ConditionalRequests.isHandled(request, version)) {
+            return null;
+        }
+        CursorPage<TaskResponse> page = taskService.getTasksPage(
+                user.getId(), projectId, status, priority, sortBy, limit, after);
+        return ConditionalRequests.ok(page, version);
+    }
+
+    // Server-Sent Events: "task" events as task writes in the project commit, "reset" when the client
+    // fell too far behind and should reload the list, and heartbeat comments
+    @GetMapping(path = "/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamTaskChanges(
+            @AuthenticationPrincipal AuthenticatedUser user,
+            @PathVariable Long projectId) {
+        return projectChangeFeed.subscribe(user.getId(), projectId);
     }
 
     @GetMapping("/search")
     public ResponseEntity<List<TaskResponse>> searchTasks(
-            Authentication authentication,
+            @AuthenticationPrincipal AuthenticatedUser user,
             @RequestParam String query,
-            @RequestParam(required = false) String sortBy) {
+            @RequestParam(required = false) String sortBy,
+            @RequestParam(required = false) Integer limit) {
         List<TaskResponse> tasks = taskService.searchTasks(
-                authentication.getName(), query, sortBy);
+                user.getId(), query, sortBy, limit);
         return ResponseEntity.ok(tasks);
     }
 
     @GetMapping("/{taskId}")
     public ResponseEntity<TaskResponse> getTaskById(
-            Authentication authentication,
+            @AuthenticationPrincipal AuthenticatedUser user,
             @PathVariable Long projectId,
-            @PathVariable Long taskId) {
-        TaskResponse task = taskService.getTaskById(authentication.getName(), projectId, taskId);
-        return ResponseEntity.ok(task);
+            @PathVariable Long taskId,
+            WebRequest request) {
+        if (ConditionalRequests.isHandled(request, taskService.getTaskVersion(user.getId(), projectId, taskId))) {
+            return null;
+        }
+        TaskResponse task = taskService.getTaskById(user.getId(), projectId, taskId);
+        return ConditionalRequests.ok(task, ResourceVersion.of(task.getId(), task.getVersion(), task.getUpdatedAt()));
+    }
+
+    // Newest first; entries reach the history within app.history.flush-interval of the commit
+    @GetMapping("/{taskId}/history")
+    public ResponseEntity<List<TaskHistoryResponse>> getTaskHistory(
+            @AuthenticationPrincipal AuthenticatedUser user,
+            @PathVariable Long projectId,
+            @PathVariable Long taskId,
+            @RequestParam(required = false) Integer limit) {
+        return ResponseEntity.ok(taskHistoryService.getTaskHistory(user.getId(), projectId, taskId, limit));
     }
 
     @PutMapping("/{taskId}")
     public ResponseEntity<TaskResponse> updateTask(
-            Authentication authentication,
+            @AuthenticationPrincipal AuthenticatedUser user,
             @PathVariable Long projectId,
             @PathVariable Long taskId,
-            @Valid @RequestBody TaskRequest request) {
-        TaskResponse response = taskService.updateTask(
-                authentication.getName(), projectId, taskId, request);
-        return ResponseEntity.ok(response);
+            @Valid @RequestBody TaskRequest request,
+            WebRequest webRequest) {
+        if (ConditionalRequests.isUnmodifiedSinceFailed(webRequest,
+                () -> taskService.getTaskVersion(user.getId(), projectId, taskId))) {
+            return null;
+        }
+        TaskResponse response = taskService.updateTask(user.getId(), projectId, taskId, request,
+                ConditionalRequests.expectedVersion(webRequest, taskId));
+        return ConditionalRequests.ok(response, ResourceVersion.of(response.getId(), response.getVersion(), response.getUpdatedAt()));
+    }
+
+    // JSON Merge Patch: only the fields in the body are written. Answers 204 with the new ETag.
+    @PatchMapping(path = "/{taskId}", consumes = {"application/merge-patch+json", "application/json"})
+    public ResponseEntity<Void> patchTask(
+            @AuthenticationPrincipal AuthenticatedUser user,
+            @PathVariable Long projectId,
+            @PathVariable Long taskId,
+            @Valid @RequestBody TaskPatch patch,
+            WebRequest webRequest) {
+        ResourceVersion version = taskService.patchTask(user.getId(), projectId, taskId, patch,
+                ConditionalRequests.expectedVersion(webRequest, taskId));
+        return ConditionalRequests.noContent(version);
+    }
+
+    @PutMapping("/{taskId}/status")
+    public ResponseEntity<Void> updateTaskStatus(
+            @AuthenticationPrincipal AuthenticatedUser user,
+            @PathVariable Long projectId,
+            @PathVariable Long taskId,
+            @Valid @RequestBody TaskStatusRequest request,
+            WebRequest webRequest) {
+        if (ConditionalRequests.isUnmodifiedSinceFailed(webRequest,
+                () -> taskService.getTaskVersion(user.getId(), projectId, taskId))) {
+            return null;
+        }
+        taskService.updateTaskStatus(user.getId(), projectId, taskId, request.getStatus(),
+                ConditionalRequests.expectedVersion(webRequest, taskId));
+        return ResponseEntity.noContent().build();
     }
 
     @DeleteMapping("/{taskId}")
     public ResponseEntity<Void> deleteTask(
-            Authentication authentication,
+            @AuthenticationPrincipal AuthenticatedUser user,
             @PathVariable Long projectId,
-            @PathVariable Long taskId) {
-        taskService.deleteTask(authentication.getName(), projectId, taskId);
+            @PathVariable Long taskId,
+            WebRequest request) {
+        if (ConditionalRequests.isUnmodifiedSinceFailed(request,
+                () -> taskService.getTaskVersion(user.getId(), projectId, taskId))) {
+            return null;
+        }
+        taskService.deleteTask(user.getId(), projectId, taskId, ConditionalRequests.expectedVersion(request, taskId));
         return ResponseEntity.noContent().build();
     }
 }
\ No newline at end of file
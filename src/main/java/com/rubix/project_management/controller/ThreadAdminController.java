@@ -0,0 +1,77 @@
+package com.rubix.project_management.controller;
+
+import com.rubix.project_management.datasource.ReplicaSet;
+import com.rubix.project_management.threads.RequestConcurrencyFilter;
+import com.rubix.project_management.threads.VirtualThreadPinningMonitor;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.core.env.Environment;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/admin/threads")
+@RequiredArgsConstructor
+public class ThreadAdminController {
+
+    private final Environment environment;
+    private final DataSource dataSource;
+    private final ObjectProvider<RequestConcurrencyFilter> requestConcurrencyFilter;
+    private final ObjectProvider<VirtualThreadPinningMonitor> pinningMonitor;
+    private final ObjectProvider<ReplicaSet> replicaSet;
+
+    @GetMapping
+    public ResponseEntity<Map<String, Object>> status() {
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("mode", Threading.VIRTUAL.isActive(environment) ? "virtual" : "platform");
+        result.put("connectionPool", connectionPool());
+        ReplicaSet replicas = replicaSet.getIfAvailable();
+        if (replicas != null) {
+            result.put("replicas", replicas.health());
+        }
+        RequestConcurrencyFilter filter = requestConcurrencyFilter.getIfAvailable();
+        if (filter != null) {
+            result.put("requests", filter.stats());
+        }
+        VirtualThreadPinningMonitor monitor = pinningMonitor.getIfAvailable();
+        if (monitor != null) {
+            result.put("pinning", monitor.stats());
+        }
+        return ResponseEntity.ok(result);
+    }
+
+    private Map<String, Object> connectionPool() {
+        Map<String, Object> pool = new LinkedHashMap<>();
+        HikariDataSource hikari = primaryPool();
+        if (hikari != null) {
+            pool.put("maximumPoolSize", hikari.getMaximumPoolSize());
+            pool.put("connectionTimeoutMillis", hikari.getConnectionTimeout());
+            HikariPoolMXBean mxBean = hikari.getHikariPoolMXBean();
+            if (mxBean != null) {
+                pool.put("active", mxBean.getActiveConnections());
+                pool.put("idle", mxBean.getIdleConnections());
+                pool.put("waiting", mxBean.getThreadsAwaitingConnection());
+            }
+        }
+        return pool;
+    }
+
+    // With replica routing the primary pool sits behind the routing proxy
+    private HikariDataSource primaryPool() {
+        try {
+            return dataSource.isWrapperFor(HikariDataSource.class) ? dataSource.unwrap(HikariDataSource.class) : null;
+        } catch (SQLException e) {
+            return null;
+        }
+    }
+}
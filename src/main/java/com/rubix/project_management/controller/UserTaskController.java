@@ -1,13 +1,26 @@
 package com.rubix.project_management.controller;
 
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
 import com.rubix.project_management.dto.TaskResponse;
+import com.rubix.project_management.enums.Priority;
+import com.rubix.project_management.enums.Status;
+import com.rubix.project_management.security.AuthenticatedUser;
 import com.rubix.project_management.service.TaskService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.core.Authentication;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
 import java.util.List;
 
 @RestController
@@ -15,16 +28,54 @@ import java.util.List;
 @RequiredArgsConstructor
 public class UserTaskController {
 
+    private static final int EXPORT_FLUSH_INTERVAL = 500;
+
     private final TaskService taskService;
+    private final ObjectMapper objectMapper;
 
     @GetMapping("/search")
     public ResponseEntity<List<TaskResponse>> searchAllTasks(
-            Authentication authentication,
+            @AuthenticationPrincipal AuthenticatedUser user,
             @RequestParam String query,
-            @RequestParam(required = false) String sortBy) {
+            @RequestParam(required = false) String sortBy,
+            @RequestParam(required = false) Integer limit) {
         List<TaskResponse> tasks = taskService.searchTasks(
-                authentication.getName(), query, sortBy);
+                user.getId(), query, sortBy, limit);
         return ResponseEntity.ok(tasks);
     }
-}
 
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportTasks(
+            @AuthenticationPrincipal AuthenticatedUser user,
+            @RequestParam(required = false) Status status,
+            @RequestParam(required = false) Priority priority,
+            @RequestParam(required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime updatedSince) {
+        Long userId = user.getId();
+        ObjectWriter writer = objectMapper.writerFor(TaskResponse.class)
+                .withRootValueSeparator("")
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+
+        StreamingResponseBody body = outputStream -> {
+            try (JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream)) {
+                long[] written = {0};
+                taskService.exportTasks(userId, status, priority, updatedSince, task -> {
+                    try {
+                        writer.writeValue(generator, task);
+                        generator.writeRaw('\n');
+                        if (++written[0] % EXPORT_FLUSH_INTERVAL == 0) {
+                            generator.flush();
+                        }
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            }
+        };
+
+        // Compressed by the server (server.compression) when the client accepts gzip
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
+    }
+}
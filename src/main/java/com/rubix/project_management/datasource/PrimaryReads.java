@@ -0,0 +1,31 @@
+package com.rubix.project_management.datasource;
+
+import java.util.function.Supplier;
+
+// Read-only work that must see every commit of the primary, however far the replicas lag: while
+// it runs, read-only connections come from the primary. Connections are taken at the first
+// statement, so calling this inside a read-only transaction is enough. Without replica routing
+// every connection is the primary's and this changes nothing.
+public final class PrimaryReads {
+
+    private static final ThreadLocal<Boolean> REQUIRED = new ThreadLocal<>();
+
+    private PrimaryReads() {
+    }
+
+    public static <T> T call(Supplier<T> work) {
+        boolean outermost = REQUIRED.get() == null;
+        REQUIRED.set(Boolean.TRUE);
+        try {
+            return work.get();
+        } finally {
+            if (outermost) {
+                REQUIRED.remove();
+            }
+        }
+    }
+
+    static boolean isRequired() {
+        return REQUIRED.get() != null;
+    }
+}
@@ -0,0 +1,69 @@
+package com.rubix.project_management.datasource;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Connections for read-only transactions: a healthy replica, or the primary when the work needs
+// the primary (PrimaryReads), the user wrote within the read-your-writes window or no replica can serve. Every connection handed out is
+// counted in app.datasource.route by route and reason.
+public class ReadOnlyRoutingDataSource extends AbstractDataSource {
+
+    static final String PRIMARY = "primary";
+
+    private final DataSource primary;
+    private final ReplicaSet replicas;
+    private final ReadYourWritesTracker readYourWrites;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, Counter> counters = new ConcurrentHashMap<>();
+
+    public ReadOnlyRoutingDataSource(DataSource primary, ReplicaSet replicas,
+                                     ReadYourWritesTracker readYourWrites, MeterRegistry meterRegistry) {
+        this.primary = primary;
+        this.replicas = replicas;
+        this.readYourWrites = readYourWrites;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (PrimaryReads.isRequired()) {
+            record(PRIMARY, "primary-required");
+            return primary.getConnection();
+        }
+        if (readYourWrites.isSticky()) {
+            record(PRIMARY, "read-your-writes");
+            return primary.getConnection();
+        }
+        for (ReplicaSet.Replica replica = replicas.next(); replica != null; replica = replicas.next()) {
+            try {
+                Connection connection = replica.dataSource.getConnection();
+                record(replica.name, "read-only");
+                return connection;
+            } catch (SQLException e) {
+                replicas.markUnhealthy(replica, e);
+            }
+        }
+        record(PRIMARY, "no-healthy-replica");
+        return primary.getConnection();
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        throw new UnsupportedOperationException("Replica routing uses the configured credentials");
+    }
+
+    void record(String route, String reason) {
+        counters.computeIfAbsent(route + "|" + reason, key -> Counter.builder("app.datasource.route")
+                .tag("route", route)
+                .tag("reason", reason)
+                .description("Connections handed out, by target database and routing reason")
+                .register(meterRegistry)).increment();
+    }
+}
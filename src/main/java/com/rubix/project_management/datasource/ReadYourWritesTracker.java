@@ -0,0 +1,53 @@
+package com.rubix.project_management.datasource;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.rubix.project_management.security.AuthenticatedUser;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.TransactionExecution;
+import org.springframework.transaction.TransactionExecutionListener;
+
+import java.time.Duration;
+
+// Remembers which users committed a read-write transaction within the window, so their reads
+// keep going to the primary until the replicas have caught up with the write.
+// Registered with the transaction manager as a TransactionExecutionListener bean.
+public class ReadYourWritesTracker implements TransactionExecutionListener {
+
+    private final Cache<Long, Boolean> recentWriters;
+
+    public ReadYourWritesTracker(Duration window, long maximumUsers) {
+        this.recentWriters = window.isZero() ? null : Caffeine.newBuilder()
+                .expireAfterWrite(window)
+                .maximumSize(maximumUsers)
+                .build();
+    }
+
+    @Override
+    public void afterCommit(TransactionExecution transaction, Throwable commitFailure) {
+        if (recentWriters == null || commitFailure != null || transaction.isReadOnly()) {
+            return;
+        }
+        Long userId = currentUserId();
+        if (userId != null) {
+            recentWriters.put(userId, Boolean.TRUE);
+        }
+    }
+
+    boolean isSticky() {
+        if (recentWriters == null) {
+            return false;
+        }
+        Long userId = currentUserId();
+        return userId != null && recentWriters.getIfPresent(userId) != null;
+    }
+
+    private static Long currentUserId() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.getPrincipal() instanceof AuthenticatedUser user) {
+            return user.getId();
+        }
+        return null;
+    }
+}
@@ -0,0 +1,93 @@
+package com.rubix.project_management.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+// Sends @Transactional(readOnly = true) work to the replicas and everything else to the primary.
+// LazyConnectionDataSourceProxy defers fetching a connection until the first statement, by which
+// time the transaction manager has marked it read-only, and then takes it from the read-only
+// routing data source instead of the primary pool. Replaces Boot's single auto-configured pool.
+@Configuration
+@ConditionalOnProperty(name = "app.datasource.replicas.enabled", havingValue = "true")
+public class ReplicaRoutingConfig {
+
+    @Bean(destroyMethod = "close")
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName(ReadOnlyRoutingDataSource.PRIMARY);
+        return dataSource;
+    }
+
+    @Bean(destroyMethod = "close")
+    public ReplicaSet replicaSet(DataSourceProperties properties,
+                                 MeterRegistry meterRegistry,
+                                 @Value("${app.datasource.replicas.urls}") List<String> urls,
+                                 @Value("${app.datasource.replicas.username:}") String username,
+                                 @Value("${app.datasource.replicas.password:}") String password,
+                                 @Value("${app.datasource.replicas.maximum-pool-size:20}") int maximumPoolSize,
+                                 @Value("${app.datasource.replicas.connection-timeout:1s}") Duration connectionTimeout) {
+        if (urls.isEmpty()) {
+            throw new IllegalStateException("app.datasource.replicas.urls must list at least one replica");
+        }
+        List<HikariDataSource> pools = new ArrayList<>();
+        for (int i = 0; i < urls.size(); i++) {
+            HikariDataSource pool = new HikariDataSource();
+            pool.setPoolName("replica-" + (i + 1));
+            pool.setJdbcUrl(urls.get(i).trim());
+            pool.setDriverClassName(properties.determineDriverClassName());
+            pool.setUsername(username.isEmpty() ? properties.determineUsername() : username);
+            pool.setPassword(username.isEmpty() ? properties.determinePassword() : password);
+            pool.setMaximumPoolSize(maximumPoolSize);
+            pool.setConnectionTimeout(connectionTimeout.toMillis());
+            pool.setReadOnly(true);
+            // Start even when a replica is down; the health check keeps it out of the rotation
+            pool.setInitializationFailTimeout(-1);
+            pool.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+            pools.add(pool);
+        }
+        return new ReplicaSet(pools, connectionTimeout, meterRegistry);
+    }
+
+    @Bean
+    public ReadYourWritesTracker readYourWritesTracker(
+            @Value("${app.datasource.replicas.read-your-writes-window:5s}") Duration window,
+            @Value("${app.datasource.replicas.read-your-writes-maximum-users:100000}") long maximumUsers) {
+        return new ReadYourWritesTracker(window, maximumUsers);
+    }
+
+    @Bean
+    @Primary
+    public LazyConnectionDataSourceProxy dataSource(HikariDataSource primaryDataSource, ReplicaSet replicaSet,
+                                                    ReadYourWritesTracker readYourWritesTracker,
+                                                    MeterRegistry meterRegistry) {
+        ReadOnlyRoutingDataSource readOnly =
+                new ReadOnlyRoutingDataSource(primaryDataSource, replicaSet, readYourWritesTracker, meterRegistry);
+        LazyConnectionDataSourceProxy proxy = new LazyConnectionDataSourceProxy(new DelegatingDataSource(primaryDataSource) {
+            @Override
+            public Connection getConnection() throws SQLException {
+                readOnly.record(ReadOnlyRoutingDataSource.PRIMARY, "read-write");
+                return super.getConnection();
+            }
+        });
+        proxy.setReadOnlyDataSource(readOnly);
+        return proxy;
+    }
+}
@@ -0,0 +1,97 @@
+package com.rubix.project_management.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// The replica pools and their health. A replica leaves the rotation when its health check or a
+// connection attempt fails and rejoins on the next successful check.
+@Slf4j
+public class ReplicaSet implements AutoCloseable {
+
+    private final List<Replica> replicas = new ArrayList<>();
+    private final AtomicInteger next = new AtomicInteger();
+    private final int validationTimeoutSeconds;
+
+    public ReplicaSet(List<HikariDataSource> dataSources, Duration validationTimeout, MeterRegistry meterRegistry) {
+        this.validationTimeoutSeconds = (int) Math.max(1, validationTimeout.toSeconds());
+        for (HikariDataSource dataSource : dataSources) {
+            Replica replica = new Replica(dataSource.getPoolName(), dataSource);
+            replicas.add(replica);
+            Gauge.builder("app.datasource.replica.healthy", replica, r -> r.healthy ? 1 : 0)
+                    .tag("replica", replica.name)
+                    .description("1 while the replica is in the read rotation")
+                    .register(meterRegistry);
+        }
+        checkHealth();
+    }
+
+    // Round robin over the healthy replicas; null when none is healthy
+    Replica next() {
+        int size = replicas.size();
+        int start = Math.floorMod(next.getAndIncrement(), size);
+        for (int i = 0; i < size; i++) {
+            Replica replica = replicas.get((start + i) % size);
+            if (replica.healthy) {
+                return replica;
+            }
+        }
+        return null;
+    }
+
+    @Scheduled(fixedDelayString = "${app.datasource.replicas.health-check-interval:5s}")
+    public void checkHealth() {
+        for (Replica replica : replicas) {
+            boolean healthy;
+            try (Connection connection = replica.dataSource.getConnection()) {
+                healthy = connection.isValid(validationTimeoutSeconds);
+            } catch (SQLException e) {
+                healthy = false;
+            }
+            if (healthy != replica.healthy) {
+                log.warn("Replica {} is {}", replica.name, healthy ? "back in the read rotation" : "unhealthy");
+            }
+            replica.healthy = healthy;
+        }
+    }
+
+    void markUnhealthy(Replica replica, SQLException cause) {
+        if (replica.healthy) {
+            log.warn("Replica {} failed to provide a connection, reads fall back: {}", replica.name, cause.getMessage());
+        }
+        replica.healthy = false;
+    }
+
+    public Map<String, Boolean> health() {
+        Map<String, Boolean> health = new LinkedHashMap<>();
+        replicas.forEach(replica -> health.put(replica.name, replica.healthy));
+        return health;
+    }
+
+    @Override
+    public void close() {
+        replicas.forEach(replica -> replica.dataSource.close());
+    }
+
+    static final class Replica {
+        final String name;
+        final HikariDataSource dataSource;
+        volatile boolean healthy;
+
+        Replica(String name, HikariDataSource dataSource) {
+            this.name = name;
+            this.dataSource = dataSource;
+        }
+    }
+}
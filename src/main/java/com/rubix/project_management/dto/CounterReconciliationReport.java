@@ -0,0 +1,24 @@
+package com.rubix.project_management.dto;
+
+import lombok.Data;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+public class CounterReconciliationReport {
+    private static final int MAX_REPORTED_IDS = 100;
+
+    private int projectsChecked;
+    private int projectsDrifted;
+    private long absoluteDrift;
+    private List<Long> driftedProjectIds = new ArrayList<>();
+
+    public void addDrift(Long projectId, long drift) {
+        projectsDrifted++;
+        absoluteDrift += drift;
+        if (driftedProjectIds.size() < MAX_REPORTED_IDS) {
+            driftedProjectIds.add(projectId);
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package com.rubix.project_management.dto;
+
+import com.rubix.project_management.exception.BadRequestException;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+// Opaque keyset cursor: the sort key and id of the last row of the previous page
+@Data
+@AllArgsConstructor
+public class Cursor {
+    private String sortBy;
+    private Long id;
+    private String value;
+
+    public String encode() {
+        String raw = sortBy + "|" + id + (value == null ? "" : "|" + value);
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static Cursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\|", 3);
+            return new Cursor(parts[0], Long.valueOf(parts[1]), parts.length == 3 ? parts[2] : null);
+        } catch (IllegalArgumentException | ArrayIndexOutOfBoundsException e) {
+            throw new BadRequestException("Invalid cursor");
+        }
+    }
+}
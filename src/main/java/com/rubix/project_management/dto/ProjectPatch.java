@@ -0,0 +1,47 @@
+package com.rubix.project_management.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import jakarta.validation.constraints.Size;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+// JSON Merge Patch (RFC 7396) of a project; see TaskPatch
+public class ProjectPatch {
+
+    private final Map<String, Object> values = new LinkedHashMap<>();
+
+    @Size(max = 100, message = "Project name must not exceed 100 characters")
+    public String getName() {
+        return (String) values.get("name");
+    }
+
+    public void setName(String name) {
+        values.put("name", name);
+    }
+
+    @Size(max = 1000, message = "Description must not exceed 1000 characters")
+    public String getDescription() {
+        return (String) values.get("description");
+    }
+
+    public void setDescription(String description) {
+        values.put("description", description);
+    }
+
+    public boolean has(String field) {
+        return values.containsKey(field);
+    }
+
+    @JsonIgnore
+    public Set<String> getFields() {
+        return Collections.unmodifiableSet(values.keySet());
+    }
+
+    @JsonIgnore
+    public Map<String, Object> getValues() {
+        return Collections.unmodifiableMap(values);
+    }
+}
@@ -0,0 +1,19 @@
+package com.rubix.project_management.dto;
+
+import com.rubix.project_management.enums.Priority;
+import com.rubix.project_management.enums.Status;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.Map;
+
+@Data
+@AllArgsConstructor
+public class ProjectSummaryResponse {
+    private Long projectId;
+    private String name;
+    private long totalTasks;
+    private Map<Status, Long> byStatus;
+    private Map<Priority, Long> byPriority;
+    private long overdueTasks;
+}
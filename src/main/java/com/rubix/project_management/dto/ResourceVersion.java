@@ -0,0 +1,50 @@
+package com.rubix.project_management.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+
+// Validators of a response for conditional requests: an entity tag and the last modification
+// time, left null where a change (e.g. a deletion) would not move it
+@Data
+@AllArgsConstructor
+public class ResourceVersion {
+    private String tag;
+    private LocalDateTime lastModified;
+
+    // A single row: every write bumps its version
+    public static ResourceVersion of(Long id, Long version, LocalDateTime updatedAt) {
+        return new ResourceVersion(id + "-" + version, updatedAt);
+    }
+
+    // The row version named by a tag from of(), or null if the tag belongs to another row
+    public static Long versionOf(String tag, Long id) {
+        String prefix = id + "-";
+        if (!tag.startsWith(prefix)) {
+            return null;
+        }
+        try {
+            return Long.parseLong(tag.substring(prefix.length()));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    // Listings: the same version covers every encoding and compression of the list. Tomcat only
+    // gzips responses without a strong tag, and lists are never the target of If-Match.
+    public static ResourceVersion weak(String tag, LocalDateTime lastModified) {
+        return new ResourceVersion("W/\"" + tag + "\"", lastModified);
+    }
+
+    public static long epochMicros(LocalDateTime time) {
+        return time.toEpochSecond(ZoneOffset.UTC) * 1_000_000 + time.getNano() / 1_000;
+    }
+
+    public long getLastModifiedMillis() {
+        return lastModified == null ? -1
+                : lastModified.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+}
@@ -0,0 +1,20 @@
+package com.rubix.project_management.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+
+// Changes since the client's watermark. With reset, the client's copy is too old to update:
+// it should drop it and keep the data that follows. With hasMore, ask again with watermark.
+@Data
+@AllArgsConstructor
+public class SyncResponse {
+    private List<ProjectResponse> projects;
+    private List<TaskResponse> tasks;
+    private List<Long> deletedProjectIds;
+    private List<Long> deletedTaskIds;
+    private String watermark;
+    private boolean hasMore;
+    private boolean reset;
+}
@@ -0,0 +1,41 @@
+package com.rubix.project_management.dto;
+
+import com.rubix.project_management.exception.BadRequestException;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+// Opaque sync position. since and afterId are the keyset position in (updatedAt, id) order.
+// floor is only set between the pages of one sync: the watermark the last page will hand out.
+@Data
+@AllArgsConstructor
+public class SyncWatermark {
+
+    // Before any row: the position of a first sync
+    public static final SyncWatermark ORIGIN = new SyncWatermark(LocalDateTime.of(1970, 1, 1, 0, 0), 0L, null);
+
+    private LocalDateTime since;
+    private Long afterId;
+    private LocalDateTime floor;
+
+    public String encode() {
+        String raw = since + "|" + afterId + (floor == null ? "" : "|" + floor);
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static SyncWatermark decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\|", 3);
+            return new SyncWatermark(LocalDateTime.parse(parts[0]), Long.valueOf(parts[1]),
+                    parts.length == 3 ? LocalDateTime.parse(parts[2]) : null);
+        } catch (IllegalArgumentException | ArrayIndexOutOfBoundsException | DateTimeParseException e) {
+            throw new BadRequestException("Invalid watermark");
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package com.rubix.project_management.dto;
+
+import com.rubix.project_management.enums.BatchOperationType;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TaskBatchOperation {
+    @NotNull(message = "Operation is required")
+    private BatchOperationType op;
+
+    // Required for UPDATE and DELETE
+    private Long taskId;
+
+    // Required for CREATE and UPDATE
+    @Valid
+    private TaskRequest task;
+}
@@ -0,0 +1,19 @@
+package com.rubix.project_management.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TaskBatchRequest {
+    @NotEmpty(message = "At least one operation is required")
+    @Size(max = 1000, message = "A batch must not exceed 1000 operations")
+    // Operations are validated one by one in TaskService.applyBatch, so an invalid one fails alone
+    private List<TaskBatchOperation> operations;
+}
@@ -0,0 +1,16 @@
+package com.rubix.project_management.dto;
+
+import com.rubix.project_management.enums.BatchOperationType;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class TaskBatchResult {
+    private int index;
+    private BatchOperationType op;
+    private Long taskId;
+    private int status;
+    private String message;
+    private TaskResponse task;
+}
@@ -0,0 +1,17 @@
+package com.rubix.project_management.dto;
+
+import com.rubix.project_management.enums.ChangeType;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.Set;
+
+// Data of a "task" event on a project's change feed. For UPDATED with changedFields, task only
+// holds id, projectId, updatedAt, version and those fields; without, the whole task
+@Data
+@AllArgsConstructor
+public class TaskChangeMessage {
+    private ChangeType type;
+    private TaskResponse task;
+    private Set<String> changedFields;
+}
@@ -0,0 +1,19 @@
+package com.rubix.project_management.dto;
+
+import com.rubix.project_management.enums.ChangeType;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+// One entry of a task's history: who changed which fields, and the task as it was afterwards
+@Data
+@AllArgsConstructor
+public class TaskHistoryResponse {
+    private ChangeType type;
+    private LocalDateTime changedAt;
+    private Long changedBy;
+    private List<String> changedFields;
+    private TaskResponse task;
+}
@@ -0,0 +1,76 @@
+package com.rubix.project_management.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.rubix.project_management.enums.Priority;
+import com.rubix.project_management.enums.Status;
+import jakarta.validation.constraints.Size;
+
+import java.time.LocalDate;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+// JSON Merge Patch (RFC 7396) of a task: only the members present in the document are written.
+// An explicit null clears description or dueDate and is rejected for the required fields.
+public class TaskPatch {
+
+    // Task property name -> new value, in document order
+    private final Map<String, Object> values = new LinkedHashMap<>();
+
+    @Size(max = 200, message = "Title must not exceed 200 characters")
+    public String getTitle() {
+        return (String) values.get("title");
+    }
+
+    public void setTitle(String title) {
+        values.put("title", title);
+    }
+
+    @Size(max = 2000, message = "Description must not exceed 2000 characters")
+    public String getDescription() {
+        return (String) values.get("description");
+    }
+
+    public void setDescription(String description) {
+        values.put("description", description);
+    }
+
+    public Status getStatus() {
+        return (Status) values.get("status");
+    }
+
+    public void setStatus(Status status) {
+        values.put("status", status);
+    }
+
+    public Priority getPriority() {
+        return (Priority) values.get("priority");
+    }
+
+    public void setPriority(Priority priority) {
+        values.put("priority", priority);
+    }
+
+    public LocalDate getDueDate() {
+        return (LocalDate) values.get("dueDate");
+    }
+
+    public void setDueDate(LocalDate dueDate) {
+        values.put("dueDate", dueDate);
+    }
+
+    public boolean has(String field) {
+        return values.containsKey(field);
+    }
+
+    @JsonIgnore
+    public Set<String> getFields() {
+        return Collections.unmodifiableSet(values.keySet());
+    }
+
+    @JsonIgnore
+    public Map<String, Object> getValues() {
+        return Collections.unmodifiableMap(values);
+    }
+}
@@ -20,5 +20,6 @@ public class TaskResponse {
     private Long projectId;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
+    private Long version;
 }
 
@@ -0,0 +1,15 @@
+package com.rubix.project_management.dto;
+
+import com.rubix.project_management.enums.Status;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TaskStatusRequest {
+    @NotNull(message = "Status is required")
+    private Status status;
+}
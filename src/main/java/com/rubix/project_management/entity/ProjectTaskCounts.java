@@ -0,0 +1,54 @@
+package com.rubix.project_management.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+// Per-project task counters, maintained by TaskCounterService in the same
+// transaction as every task write and periodically reconciled against the tasks table.
+// version and modifiedAt change with every task write and validate task list responses.
+@Entity
+@Table(name = "project_task_counts")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProjectTaskCounts {
+
+    @Id
+    private Long projectId;
+
+    @Column(nullable = false)
+    private long total;
+
+    @Column(nullable = false)
+    private long pending;
+
+    @Column(nullable = false)
+    private long inProgress;
+
+    @Column(nullable = false)
+    private long completed;
+
+    @Column(nullable = false)
+    private long lowPriority;
+
+    @Column(nullable = false)
+    private long mediumPriority;
+
+    @Column(nullable = false)
+    private long highPriority;
+
+    // Not a JPA @Version: only ever incremented by ProjectTaskCountsRepository.addDelta
+    @Column(nullable = false)
+    private long version;
+
+    @Column(nullable = false)
+    private LocalDateTime modifiedAt;
+
+    public ProjectTaskCounts(Long projectId) {
+        this.projectId = projectId;
+    }
+}
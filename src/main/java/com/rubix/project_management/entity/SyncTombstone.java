@@ -0,0 +1,41 @@
+package com.rubix.project_management.entity;
+
+import com.rubix.project_management.enums.SyncEntityType;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+// Marks a deleted task or project for incremental sync clients. Written in the deleting
+// transaction, so it becomes visible together with the deletion.
+@Entity
+@Table(name = "sync_tombstones")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SyncTombstone {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "sync_tombstones_seq")
+    @SequenceGenerator(name = "sync_tombstones_seq", sequenceName = "sync_tombstones_seq", allocationSize = 50)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private SyncEntityType entityType;
+
+    @Column(nullable = false)
+    private Long entityId;
+
+    @Column(nullable = false)
+    private Long userId;
+
+    @Column(nullable = false)
+    private LocalDateTime deletedAt;
+
+    public SyncTombstone(SyncEntityType entityType, Long entityId, Long userId, LocalDateTime deletedAt) {
+        this(null, entityType, entityId, userId, deletedAt);
+    }
+}
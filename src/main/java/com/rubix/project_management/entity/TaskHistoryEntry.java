@@ -0,0 +1,62 @@
+package com.rubix.project_management.entity;
+
+import com.rubix.project_management.enums.ChangeType;
+import com.rubix.project_management.enums.Priority;
+import com.rubix.project_management.enums.Status;
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+// One committed change of a task. Only the fields in changedFields (a TaskField mask) are set,
+// unless snapshot is true: then every field holds the task's state after the change.
+@Entity
+@Table(name = "task_history")
+@Data
+@NoArgsConstructor
+public class TaskHistoryEntry {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "task_history_seq")
+    @SequenceGenerator(name = "task_history_seq", sequenceName = "task_history_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(nullable = false)
+    private Long taskId;
+
+    @Column(nullable = false)
+    private Long projectId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private ChangeType changeType;
+
+    @Column(nullable = false)
+    private int changedFields;
+
+    @Column(nullable = false)
+    private boolean snapshot;
+
+    @Column(nullable = false)
+    private Long userId;
+
+    @Column(nullable = false)
+    private LocalDateTime changedAt;
+
+    private Long taskVersion;
+
+    private String title;
+
+    @Column(length = 2000)
+    private String description;
+
+    @Enumerated(EnumType.STRING)
+    private Status status;
+
+    @Enumerated(EnumType.STRING)
+    private Priority priority;
+
+    private LocalDate dueDate;
+}
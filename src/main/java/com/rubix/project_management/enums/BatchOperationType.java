@@ -0,0 +1,7 @@
+package com.rubix.project_management.enums;
+
+public enum BatchOperationType {
+    CREATE,
+    UPDATE,
+    DELETE
+}
@@ -0,0 +1,6 @@
+package com.rubix.project_management.enums;
+
+public enum SyncEntityType {
+    TASK,
+    PROJECT
+}
@@ -0,0 +1,68 @@
+package com.rubix.project_management.enums;
+
+import com.rubix.project_management.dto.TaskResponse;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+// Task properties recorded by the change history and merged by the change feed. Each has a bit in task_history.changed_fields,
+// so constants may only be appended: the bits are stored.
+@Getter
+@RequiredArgsConstructor
+public enum TaskField {
+    TITLE("title"),
+    DESCRIPTION("description"),
+    STATUS("status"),
+    PRIORITY("priority"),
+    DUE_DATE("dueDate");
+
+    public static final int ALL = (1 << values().length) - 1;
+
+    private final String property;
+
+    public int bit() {
+        return 1 << ordinal();
+    }
+
+    public boolean in(int mask) {
+        return (mask & bit()) != 0;
+    }
+
+    // Copies this field's value from one response to another
+    public void copy(TaskResponse from, TaskResponse to) {
+        switch (this) {
+            case TITLE -> to.setTitle(from.getTitle());
+            case DESCRIPTION -> to.setDescription(from.getDescription());
+            case STATUS -> to.setStatus(from.getStatus());
+            case PRIORITY -> to.setPriority(from.getPriority());
+            case DUE_DATE -> to.setDueDate(from.getDueDate());
+        }
+    }
+
+    // Bit mask of the given property names; null means every field
+    public static int mask(Collection<String> properties) {
+        if (properties == null) {
+            return ALL;
+        }
+        int mask = 0;
+        for (TaskField field : values()) {
+            if (properties.contains(field.property)) {
+                mask |= field.bit();
+            }
+        }
+        return mask;
+    }
+
+    public static List<String> properties(int mask) {
+        List<String> properties = new ArrayList<>();
+        for (TaskField field : values()) {
+            if (field.in(mask)) {
+                properties.add(field.property);
+            }
+        }
+        return properties;
+    }
+}
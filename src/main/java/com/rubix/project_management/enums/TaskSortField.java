@@ -0,0 +1,48 @@
+package com.rubix.project_management.enums;
+
+import com.rubix.project_management.dto.TaskResponse;
+import com.rubix.project_management.exception.BadRequestException;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.function.Function;
+
+// Task properties that can drive keyset pagination, always tie-broken by id
+@Getter
+@RequiredArgsConstructor
+public enum TaskSortField {
+    ID("id", false, TaskResponse::getId, Long::valueOf),
+    DUE_DATE("dueDate", true, TaskResponse::getDueDate, LocalDate::parse),
+    PRIORITY("priority", false, TaskResponse::getPriority, Priority::valueOf),
+    STATUS("status", false, TaskResponse::getStatus, Status::valueOf),
+    TITLE("title", false, TaskResponse::getTitle, value -> value),
+    CREATED_AT("createdAt", false, TaskResponse::getCreatedAt, LocalDateTime::parse),
+    UPDATED_AT("updatedAt", false, TaskResponse::getUpdatedAt, LocalDateTime::parse);
+
+    private final String property;
+    private final boolean nullable;
+    private final Function<TaskResponse, Object> extractor;
+    private final Function<String, Object> parser;
+
+    public static TaskSortField from(String sortBy) {
+        if (sortBy == null) {
+            return ID;
+        }
+        for (TaskSortField field : values()) {
+            if (field.property.equals(sortBy)) {
+                return field;
+            }
+        }
+        throw new BadRequestException("Unsupported sortBy: " + sortBy);
+    }
+
+    public Object parse(String value) {
+        try {
+            return value == null ? null : parser.apply(value);
+        } catch (RuntimeException e) {
+            throw new BadRequestException("Invalid cursor");
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package com.rubix.project_management.event;
+
+import com.rubix.project_management.dto.TaskResponse;
+import com.rubix.project_management.enums.ChangeType;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.Set;
+
+// Published by TaskService inside the write transaction; listeners use
+// @TransactionalEventListener to act only once the change has committed.
+// For partial updates, task only holds id, projectId, updatedAt, version and the changed fields.
+// version is the row version the write produced; a DELETED event carries the deleted version + 1.
+// UPDATED events from task writes name the fields that changed; the task history records only those.
+@Data
+@AllArgsConstructor
+public class TaskChangedEvent {
+    private ChangeType type;
+    private Long userId;
+    private TaskResponse task;
+    // Property names changed by an UPDATED event; null when every field was written
+    private Set<String> changedFields;
+    // DELETED by the purge of a deleted project, whose history goes with it
+    private boolean purged;
+
+    public TaskChangedEvent(ChangeType type, Long userId, TaskResponse task) {
+        this(type, userId, task, null, false);
+    }
+
+    public TaskChangedEvent(ChangeType type, Long userId, TaskResponse task, Set<String> changedFields) {
+        this(type, userId, task, changedFields, false);
+    }
+
+    public static TaskChangedEvent purged(Long userId, TaskResponse task) {
+        return new TaskChangedEvent(ChangeType.DELETED, userId, task, null, true);
+    }
+
+    public boolean changed(String field) {
+        return changedFields == null || changedFields.contains(field);
+    }
+}
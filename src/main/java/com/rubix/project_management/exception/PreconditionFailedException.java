@@ -0,0 +1,7 @@
+package com.rubix.project_management.exception;
+
+public class PreconditionFailedException extends RuntimeException {
+    public PreconditionFailedException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,140 @@
+package com.rubix.project_management.feed;
+
+import com.rubix.project_management.dto.TaskChangeMessage;
+import com.rubix.project_management.dto.TaskResponse;
+import com.rubix.project_management.enums.ChangeType;
+import com.rubix.project_management.enums.TaskField;
+import io.micrometer.core.instrument.Counter;
+import org.springframework.http.MediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantLock;
+
+// One open change feed. Changes wait here, one per task, until the subscriber's drain sends
+// them; a change to a task that is already waiting is merged into it, so a slow reader gets the
+// latest state rather than every step. Past maxPending tasks everything waiting is dropped and
+// the reader gets a "reset" event telling it to reload the task list.
+class FeedSubscriber {
+
+    final Long projectId;
+    final SseEmitter emitter;
+
+    private final int maxPending;
+    private final Counter resets;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Map<Long, TaskChangeMessage> pending = new LinkedHashMap<>();
+    private boolean reset;
+    private boolean heartbeat;
+    private boolean draining;
+
+    FeedSubscriber(Long projectId, SseEmitter emitter, int maxPending, Counter resets) {
+        this.projectId = projectId;
+        this.emitter = emitter;
+        this.maxPending = maxPending;
+        this.resets = resets;
+    }
+
+    // Returns true when the caller has to start a drain
+    boolean offer(TaskChangeMessage change) {
+        lock.lock();
+        try {
+            if (!reset) {
+                Long taskId = change.getTask().getId();
+                TaskChangeMessage waiting = pending.get(taskId);
+                if (waiting != null) {
+                    pending.put(taskId, merge(waiting, change));
+                } else if (pending.size() < maxPending) {
+                    pending.put(taskId, change);
+                } else {
+                    pending.clear();
+                    reset = true;
+                    resets.increment();
+                }
+            }
+            return startDrain();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    boolean heartbeat() {
+        lock.lock();
+        try {
+            heartbeat = true;
+            return startDrain();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private boolean startDrain() {
+        if (draining) {
+            return false;
+        }
+        draining = true;
+        return true;
+    }
+
+    // The events to send next, or null once nothing is waiting, which ends the drain
+    List<SseEmitter.SseEventBuilder> take() {
+        lock.lock();
+        try {
+            List<SseEmitter.SseEventBuilder> events = new ArrayList<>();
+            if (reset) {
+                events.add(SseEmitter.event().name("reset").data("{}", MediaType.APPLICATION_JSON));
+                reset = false;
+            } else {
+                for (TaskChangeMessage change : pending.values()) {
+                    events.add(SseEmitter.event().name("task").data(change, MediaType.APPLICATION_JSON));
+                }
+            }
+            pending.clear();
+            if (events.isEmpty() && heartbeat) {
+                events.add(SseEmitter.event().comment("heartbeat"));
+            }
+            heartbeat = false;
+            if (events.isEmpty()) {
+                draining = false;
+                return null;
+            }
+            return events;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Changes are never mutated in place: the same message goes to every subscriber of the project
+    private static TaskChangeMessage merge(TaskChangeMessage waiting, TaskChangeMessage next) {
+        if (next.getType() == ChangeType.DELETED || next.getChangedFields() == null) {
+            ChangeType type = waiting.getType() == ChangeType.CREATED && next.getType() == ChangeType.UPDATED
+                    ? ChangeType.CREATED : next.getType();
+            return new TaskChangeMessage(type, next.getTask(), next.getChangedFields());
+        }
+        TaskResponse task = copy(waiting.getTask());
+        for (TaskField field : TaskField.values()) {
+            if (next.getChangedFields().contains(field.getProperty())) {
+                field.copy(next.getTask(), task);
+            }
+        }
+        task.setUpdatedAt(next.getTask().getUpdatedAt());
+        task.setVersion(next.getTask().getVersion());
+        Set<String> changedFields = null;
+        if (waiting.getChangedFields() != null) {
+            changedFields = new HashSet<>(waiting.getChangedFields());
+            changedFields.addAll(next.getChangedFields());
+        }
+        return new TaskChangeMessage(waiting.getType(), task, changedFields);
+    }
+
+    private static TaskResponse copy(TaskResponse task) {
+        return new TaskResponse(task.getId(), task.getTitle(), task.getDescription(), task.getStatus(),
+                task.getPriority(), task.getDueDate(), task.getProjectId(), task.getCreatedAt(),
+                task.getUpdatedAt(), task.getVersion());
+    }
+}
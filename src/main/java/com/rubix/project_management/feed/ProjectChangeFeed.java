@@ -0,0 +1,143 @@
+package com.rubix.project_management.feed;
+
+import com.rubix.project_management.dto.TaskChangeMessage;
+import com.rubix.project_management.event.TaskChangedEvent;
+import com.rubix.project_management.exception.ResourceNotFoundException;
+import com.rubix.project_management.service.ProjectOwnershipCache;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Fans committed TaskChangedEvents out to the open event streams of the task's project.
+// Streams are async requests and hold no thread while idle. The committing thread only queues
+// the change on each subscriber; a subscriber with something to send gets one drain on a virtual
+// thread, so a client that stops reading parks its own drain and nobody else's.
+@Slf4j
+@Component
+public class ProjectChangeFeed {
+
+    private final ProjectOwnershipCache projectOwnershipCache;
+    private final Map<Long, Set<FeedSubscriber>> subscribers = new ConcurrentHashMap<>();
+    private final AtomicInteger subscriberCount = new AtomicInteger();
+    private final ExecutorService drainExecutor = Executors.newThreadPerTaskExecutor(
+            Thread.ofVirtual().name("project-feed-", 0).factory());
+    private final Duration timeout;
+    private final int maxPending;
+    private final Counter resets;
+
+    public ProjectChangeFeed(ProjectOwnershipCache projectOwnershipCache,
+                             MeterRegistry meterRegistry,
+                             @Value("${app.feed.timeout:30m}") Duration timeout,
+                             @Value("${app.feed.max-pending:256}") int maxPending) {
+        this.projectOwnershipCache = projectOwnershipCache;
+        this.timeout = timeout;
+        this.maxPending = maxPending;
+        Gauge.builder("app.feed.subscribers", subscriberCount, AtomicInteger::get)
+                .description("Open project change feeds")
+                .register(meterRegistry);
+        this.resets = Counter.builder("app.feed.resets")
+                .description("Feeds that fell max-pending tasks behind and were told to reload")
+                .register(meterRegistry);
+    }
+
+    public SseEmitter subscribe(Long userId, Long projectId) {
+        if (!projectOwnershipCache.isOwner(projectId, userId)) {
+            throw new ResourceNotFoundException("Project not found");
+        }
+        SseEmitter emitter = new SseEmitter(timeout.toMillis());
+        FeedSubscriber subscriber = new FeedSubscriber(projectId, emitter, maxPending, resets);
+        emitter.onCompletion(() -> remove(subscriber));
+        emitter.onTimeout(() -> remove(subscriber));
+        emitter.onError(e -> remove(subscriber));
+        subscribers.compute(projectId, (id, feeds) -> {
+            Set<FeedSubscriber> result = feeds != null ? feeds : ConcurrentHashMap.newKeySet();
+            result.add(subscriber);
+            return result;
+        });
+        subscriberCount.incrementAndGet();
+        // Sent once the response starts, so the client sees the stream open right away
+        if (subscriber.heartbeat()) {
+            drainExecutor.execute(() -> drain(subscriber));
+        }
+        return emitter;
+    }
+
+    @TransactionalEventListener
+    public void onTaskChanged(TaskChangedEvent event) {
+        Set<FeedSubscriber> feeds = subscribers.get(event.getTask().getProjectId());
+        if (feeds == null || feeds.isEmpty()) {
+            return;
+        }
+        TaskChangeMessage change = new TaskChangeMessage(event.getType(), event.getTask(), event.getChangedFields());
+        for (FeedSubscriber subscriber : feeds) {
+            if (subscriber.offer(change)) {
+                drainExecutor.execute(() -> drain(subscriber));
+            }
+        }
+    }
+
+    // Keeps proxies from closing idle streams and finds clients that went away
+    @Scheduled(fixedDelayString = "${app.feed.heartbeat-interval:15s}")
+    public void sendHeartbeats() {
+        for (Set<FeedSubscriber> feeds : subscribers.values()) {
+            for (FeedSubscriber subscriber : feeds) {
+                if (subscriber.heartbeat()) {
+                    drainExecutor.execute(() -> drain(subscriber));
+                }
+            }
+        }
+    }
+
+    private void drain(FeedSubscriber subscriber) {
+        try {
+            for (List<SseEmitter.SseEventBuilder> events = subscriber.take(); events != null; events = subscriber.take()) {
+                for (SseEmitter.SseEventBuilder event : events) {
+                    subscriber.emitter.send(event);
+                }
+            }
+        } catch (IOException | IllegalStateException e) {
+            // Client gone or stream completed; the container reports the error to the emitter
+            log.debug("Closing change feed of project {}: {}", subscriber.projectId, e.getMessage());
+            remove(subscriber);
+        }
+    }
+
+    // Called from the drain and from the emitter callbacks; only the first call counts
+    private void remove(FeedSubscriber subscriber) {
+        boolean[] removed = {false};
+        subscribers.computeIfPresent(subscriber.projectId, (id, feeds) -> {
+            removed[0] = feeds.remove(subscriber);
+            return feeds.isEmpty() ? null : feeds;
+        });
+        if (removed[0]) {
+            subscriberCount.decrementAndGet();
+        }
+    }
+
+    public int subscriberCount() {
+        return subscriberCount.get();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        subscribers.values().forEach(feeds -> feeds.forEach(subscriber -> subscriber.emitter.complete()));
+        drainExecutor.shutdownNow();
+    }
+}
@@ -0,0 +1,73 @@
+package com.rubix.project_management.history;
+
+import com.rubix.project_management.dto.TaskResponse;
+import com.rubix.project_management.entity.TaskHistoryEntry;
+import com.rubix.project_management.enums.Priority;
+import com.rubix.project_management.enums.Status;
+import com.rubix.project_management.enums.TaskField;
+import lombok.Getter;
+
+import java.time.LocalDate;
+
+// A task's fields rebuilt by replaying history entries in order onto the latest snapshot
+public class ReplayedTask {
+
+    private String title;
+    private String description;
+    private Status status;
+    private Priority priority;
+    private LocalDate dueDate;
+    // A snapshot has been applied, so every field is known
+    @Getter
+    private boolean complete;
+    @Getter
+    private int deltasSinceSnapshot;
+    // Row version of the last entry applied; null before the first
+    @Getter
+    private Long version;
+
+    public void apply(TaskHistoryEntry entry) {
+        int fields = entry.isSnapshot() ? TaskField.ALL : entry.getChangedFields();
+        if (TaskField.TITLE.in(fields)) {
+            title = entry.getTitle();
+        }
+        if (TaskField.DESCRIPTION.in(fields)) {
+            description = entry.getDescription();
+        }
+        if (TaskField.STATUS.in(fields)) {
+            status = entry.getStatus();
+        }
+        if (TaskField.PRIORITY.in(fields)) {
+            priority = entry.getPriority();
+        }
+        if (TaskField.DUE_DATE.in(fields)) {
+            dueDate = entry.getDueDate();
+        }
+        if (entry.getTaskVersion() != null) {
+            version = entry.getTaskVersion();
+        }
+        if (entry.isSnapshot()) {
+            complete = true;
+            deltasSinceSnapshot = 0;
+        } else {
+            deltasSinceSnapshot++;
+        }
+    }
+
+    // Turns an entry that has already been applied into a snapshot of the current state
+    public void snapshot(TaskHistoryEntry entry) {
+        entry.setSnapshot(true);
+        entry.setTitle(title);
+        entry.setDescription(description);
+        entry.setStatus(status);
+        entry.setPriority(priority);
+        entry.setDueDate(dueDate);
+        deltasSinceSnapshot = 0;
+    }
+
+    // The task as of the entry; createdAt is not part of the history
+    public TaskResponse toResponse(TaskHistoryEntry entry) {
+        return new TaskResponse(entry.getTaskId(), title, description, status, priority, dueDate,
+                entry.getProjectId(), null, entry.getChangedAt(), entry.getTaskVersion());
+    }
+}
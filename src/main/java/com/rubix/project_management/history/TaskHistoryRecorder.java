@@ -0,0 +1,228 @@
+package com.rubix.project_management.history;
+
+import com.rubix.project_management.dto.TaskResponse;
+import com.rubix.project_management.entity.TaskHistoryEntry;
+import com.rubix.project_management.enums.ChangeType;
+import com.rubix.project_management.enums.TaskField;
+import com.rubix.project_management.event.TaskChangedEvent;
+import com.rubix.project_management.repository.TaskHistoryRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Collectors;
+
+// Turns committed TaskChangedEvents into task_history entries holding only the changed fields.
+// Entries are queued and written in batches on the scheduler thread, off the request path;
+// when the queue is full the committing thread writes a batch itself. Every snapshot-interval
+// deltas of a task, the entry is written as a full snapshot instead so that rebuilding any
+// version replays a bounded number of deltas. Queued entries are lost if the process dies.
+//
+// History is read in id order, so a task's entries must get their ids in row version order.
+// After-commit callbacks of two writes to one task can reach the queue in either order, so
+// an entry whose previous version is not written yet is held back until it is, or until
+// reorder-timeout has passed (the event was lost, or written by another instance).
+@Slf4j
+@Component
+public class TaskHistoryRecorder {
+
+    private final TaskHistoryRepository historyRepository;
+    private final TransactionTemplate transaction;
+    private final BlockingQueue<TaskHistoryEntry> queue;
+    // Not synchronized: a virtual thread flushing from afterCommit would pin its carrier for the write
+    private final ReentrantLock flushLock = new ReentrantLock();
+    private final int batchSize;
+    private final int snapshotInterval;
+    private final long reorderTimeoutNanos;
+    // Guarded by flushLock: entries waiting for an earlier version of their task, and since when
+    private final Map<Long, List<TaskHistoryEntry>> held = new HashMap<>();
+    private final Map<Long, Long> heldSince = new HashMap<>();
+
+    public TaskHistoryRecorder(TaskHistoryRepository historyRepository,
+                               PlatformTransactionManager transactionManager,
+                               @Value("${app.history.queue-capacity:10000}") int queueCapacity,
+                               @Value("${app.history.batch-size:500}") int batchSize,
+                               @Value("${app.history.snapshot-interval:20}") int snapshotInterval,
+                               @Value("${app.history.reorder-timeout:5s}") Duration reorderTimeout) {
+        this.historyRepository = historyRepository;
+        // Also runs from afterCommit of the task write, which must not join its finished transaction
+        this.transaction = new TransactionTemplate(transactionManager);
+        this.transaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.batchSize = batchSize;
+        this.snapshotInterval = snapshotInterval;
+        this.reorderTimeoutNanos = reorderTimeout.toNanos();
+    }
+
+    @TransactionalEventListener
+    public void onTaskChanged(TaskChangedEvent event) {
+        if (event.isPurged()) {
+            return;
+        }
+        TaskHistoryEntry entry = toEntry(event);
+        if (entry == null) {
+            return;
+        }
+        while (!queue.offer(entry)) {
+            flush(false);
+        }
+    }
+
+    private static TaskHistoryEntry toEntry(TaskChangedEvent event) {
+        TaskResponse task = event.getTask();
+        int fields = switch (event.getType()) {
+            case CREATED -> TaskField.ALL;
+            case UPDATED -> TaskField.mask(event.getChangedFields());
+            case DELETED -> 0;
+        };
+        if (event.getType() == ChangeType.UPDATED && fields == 0) {
+            return null;
+        }
+        TaskHistoryEntry entry = new TaskHistoryEntry();
+        entry.setTaskId(task.getId());
+        entry.setProjectId(task.getProjectId());
+        entry.setChangeType(event.getType());
+        entry.setChangedFields(fields);
+        entry.setSnapshot(event.getType() == ChangeType.CREATED);
+        entry.setUserId(event.getUserId());
+        entry.setChangedAt(task.getUpdatedAt() != null ? task.getUpdatedAt() : LocalDateTime.now());
+        entry.setTaskVersion(task.getVersion());
+        if (TaskField.TITLE.in(fields)) {
+            entry.setTitle(task.getTitle());
+        }
+        if (TaskField.DESCRIPTION.in(fields)) {
+            entry.setDescription(task.getDescription());
+        }
+        if (TaskField.STATUS.in(fields)) {
+            entry.setStatus(task.getStatus());
+        }
+        if (TaskField.PRIORITY.in(fields)) {
+            entry.setPriority(task.getPriority());
+        }
+        if (TaskField.DUE_DATE.in(fields)) {
+            entry.setDueDate(task.getDueDate());
+        }
+        return entry;
+    }
+
+    @Scheduled(fixedDelayString = "${app.history.flush-interval:500ms}")
+    public void flushAll() {
+        while (flush(false) == batchSize) {
+            // keep draining while full batches come out
+        }
+    }
+
+    // Held entries are written too: no earlier version will arrive any more
+    @PreDestroy
+    public void close() {
+        while (flush(true) == batchSize) {
+            // keep draining while full batches come out
+        }
+    }
+
+    // Before a purge deletes the project's history: entries still queued or held for it would
+    // otherwise be written after that
+    public void flushProject(Long projectId) {
+        flushAll();
+        flushLock.lock();
+        try {
+            held.values().removeIf(entries -> entries.get(0).getProjectId().equals(projectId));
+            heldSince.keySet().retainAll(held.keySet());
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    // Writes up to batch-size queued entries, and held ones that became ready, in one transaction;
+    // returns how many were taken from the queue
+    private int flush(boolean releaseHeld) {
+        flushLock.lock();
+        try {
+            List<TaskHistoryEntry> batch = new ArrayList<>(batchSize);
+            queue.drainTo(batch, batchSize);
+            if (batch.isEmpty() && held.isEmpty()) {
+                return 0;
+            }
+            try {
+                transaction.executeWithoutResult(tx -> write(batch, releaseHeld));
+            } catch (RuntimeException e) {
+                log.error("Dropped task history entries", e);
+                held.clear();
+                heldSince.clear();
+            }
+            return batch.size();
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    private void write(List<TaskHistoryEntry> batch, boolean releaseHeld) {
+        long now = System.nanoTime();
+        for (TaskHistoryEntry entry : batch) {
+            held.computeIfAbsent(entry.getTaskId(), id -> new ArrayList<>()).add(entry);
+            heldSince.putIfAbsent(entry.getTaskId(), now);
+        }
+        Map<Long, ReplayedTask> tasks = new HashMap<>();
+        for (TaskHistoryEntry written : historyRepository.findSinceLatestSnapshot(held.keySet())) {
+            tasks.computeIfAbsent(written.getTaskId(), id -> new ReplayedTask()).apply(written);
+        }
+
+        List<TaskHistoryEntry> ready = new ArrayList<>();
+        for (Iterator<Map.Entry<Long, List<TaskHistoryEntry>>> it = held.entrySet().iterator(); it.hasNext(); ) {
+            Map.Entry<Long, List<TaskHistoryEntry>> pending = it.next();
+            Long taskId = pending.getKey();
+            List<TaskHistoryEntry> entries = pending.getValue();
+            entries.sort(Comparator.comparing(TaskHistoryEntry::getTaskVersion,
+                    Comparator.nullsFirst(Comparator.naturalOrder())));
+            ReplayedTask task = tasks.computeIfAbsent(taskId, id -> new ReplayedTask());
+            boolean expired = releaseHeld || now - heldSince.get(taskId) >= reorderTimeoutNanos;
+            int taken = 0;
+            while (taken < entries.size() && (expired || follows(task, entries.get(taken)))) {
+                TaskHistoryEntry entry = entries.get(taken++);
+                task.apply(entry);
+                if (entry.getChangeType() == ChangeType.UPDATED && task.isComplete()
+                        && task.getDeltasSinceSnapshot() >= snapshotInterval) {
+                    task.snapshot(entry);
+                }
+                ready.add(entry);
+            }
+            if (taken == entries.size()) {
+                it.remove();
+                heldSince.remove(taskId);
+            } else if (taken > 0) {
+                entries.subList(0, taken).clear();
+                heldSince.put(taskId, now);
+            }
+        }
+        historyRepository.saveAll(ready);
+    }
+
+    // The entry's previous version is written: a task without history starts with its CREATED entry
+    private static boolean follows(ReplayedTask task, TaskHistoryEntry entry) {
+        if (entry.getTaskVersion() == null) {
+            return true;
+        }
+        if (task.getVersion() == null) {
+            return entry.getChangeType() == ChangeType.CREATED;
+        }
+        return entry.getTaskVersion() <= task.getVersion() + 1;
+    }
+}
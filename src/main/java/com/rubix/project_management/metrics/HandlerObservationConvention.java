@@ -0,0 +1,15 @@
+package com.rubix.project_management.metrics;
+
+import io.micrometer.common.KeyValues;
+import org.springframework.http.server.observation.DefaultServerRequestObservationConvention;
+import org.springframework.http.server.observation.ServerRequestObservationContext;
+
+// Adds the controller method as a "handler" tag to http.server.requests
+public class HandlerObservationConvention extends DefaultServerRequestObservationConvention {
+
+    @Override
+    public KeyValues getLowCardinalityKeyValues(ServerRequestObservationContext context) {
+        return super.getLowCardinalityKeyValues(context)
+                .and("handler", RequestMetrics.handlerName(context.getCarrier()));
+    }
+}
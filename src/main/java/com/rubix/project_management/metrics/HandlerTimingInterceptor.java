@@ -0,0 +1,37 @@
+package com.rubix.project_management.metrics;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+// Times the controller method on its own, so it can be told apart from the JWT filter and the
+// rest of the chain that http.server.requests also covers
+public class HandlerTimingInterceptor implements HandlerInterceptor {
+
+    private static final String START_ATTRIBUTE = HandlerTimingInterceptor.class.getName() + ".start";
+
+    private final RequestMetrics requestMetrics;
+
+    public HandlerTimingInterceptor(RequestMetrics requestMetrics) {
+        this.requestMetrics = requestMetrics;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (handler instanceof HandlerMethod handlerMethod) {
+            request.setAttribute(RequestMetrics.HANDLER_ATTRIBUTE, RequestMetrics.handlerName(handlerMethod));
+            request.setAttribute(START_ATTRIBUTE, System.nanoTime());
+        }
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        Object start = request.getAttribute(START_ATTRIBUTE);
+        if (start != null) {
+            request.removeAttribute(START_ATTRIBUTE);
+            requestMetrics.recordHandler(RequestMetrics.handlerName(request), System.nanoTime() - (Long) start);
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package com.rubix.project_management.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+@Configuration
+@ConditionalOnProperty(name = "app.metrics.requests.enabled", havingValue = "true", matchIfMissing = true)
+public class MetricsConfig implements WebMvcConfigurer {
+
+    private final RequestMetrics requestMetrics;
+
+    public MetricsConfig(MeterRegistry meterRegistry) {
+        this.requestMetrics = new RequestMetrics(meterRegistry);
+    }
+
+    @Bean
+    public RequestMetrics requestMetrics() {
+        return requestMetrics;
+    }
+
+    @Bean
+    public FilterRegistrationBean<RequestMetricsFilter> requestMetricsFilter() {
+        FilterRegistrationBean<RequestMetricsFilter> registration =
+                new FilterRegistrationBean<>(new RequestMetricsFilter(requestMetrics));
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 1);
+        return registration;
+    }
+
+    @Bean
+    public HandlerObservationConvention handlerObservationConvention() {
+        return new HandlerObservationConvention();
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new HandlerTimingInterceptor(requestMetrics));
+    }
+}
@@ -0,0 +1,39 @@
+package com.rubix.project_management.metrics;
+
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.stat.internal.StatisticsImpl;
+
+// Hibernate's global statistics, additionally attributing statements and rows to the current request
+public class QueryCountingStatistics extends StatisticsImpl {
+
+    public QueryCountingStatistics(SessionFactoryImplementor sessionFactory) {
+        super(sessionFactory);
+    }
+
+    @Override
+    public void prepareStatement() {
+        super.prepareStatement();
+        RequestMetricsContext context = RequestMetricsContext.current();
+        if (context != null) {
+            context.statements++;
+        }
+    }
+
+    @Override
+    public void queryExecuted(String hql, int rows, long time) {
+        super.queryExecuted(hql, rows, time);
+        RequestMetricsContext context = RequestMetricsContext.current();
+        if (context != null) {
+            context.queryRows += rows;
+        }
+    }
+
+    @Override
+    public void loadEntity(String entityName) {
+        super.loadEntity(entityName);
+        RequestMetricsContext context = RequestMetricsContext.current();
+        if (context != null) {
+            context.entityLoads++;
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package com.rubix.project_management.metrics;
+
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.stat.spi.StatisticsFactory;
+import org.hibernate.stat.spi.StatisticsImplementor;
+
+// Registered through hibernate.stats.factory; only called back while hibernate.generate_statistics is on
+public class QueryCountingStatisticsFactory implements StatisticsFactory {
+
+    @Override
+    public StatisticsImplementor buildStatistics(SessionFactoryImplementor sessionFactory) {
+        return new QueryCountingStatistics(sessionFactory);
+    }
+}
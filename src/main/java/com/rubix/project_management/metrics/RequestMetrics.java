@@ -0,0 +1,73 @@
+package com.rubix.project_management.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.web.method.HandlerMethod;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+// Per-handler meters, created once per controller method and then looked up without touching the registry
+public class RequestMetrics {
+
+    static final String HANDLER_ATTRIBUTE = RequestMetrics.class.getName() + ".handler";
+    static final String NO_HANDLER = "none";
+
+    private final MeterRegistry registry;
+    private final Map<String, HandlerMeters> meters = new ConcurrentHashMap<>();
+
+    public RequestMetrics(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    // "TaskController.getAllTasks"; "none" for requests rejected before reaching a controller
+    public static String handlerName(HttpServletRequest request) {
+        Object handler = request.getAttribute(HANDLER_ATTRIBUTE);
+        return handler != null ? (String) handler : NO_HANDLER;
+    }
+
+    static String handlerName(HandlerMethod handlerMethod) {
+        return handlerMethod.getBeanType().getSimpleName() + "." + handlerMethod.getMethod().getName();
+    }
+
+    void recordHandler(String handler, long nanos) {
+        meters(handler).handlerTime.record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    void recordDatabaseWork(String handler, RequestMetricsContext context) {
+        HandlerMeters handlerMeters = meters(handler);
+        handlerMeters.statements.record(context.statements);
+        handlerMeters.queryRows.record(context.queryRows);
+        handlerMeters.entityLoads.record(context.entityLoads);
+    }
+
+    private HandlerMeters meters(String handler) {
+        HandlerMeters handlerMeters = meters.get(handler);
+        return handlerMeters != null ? handlerMeters : meters.computeIfAbsent(handler, this::register);
+    }
+
+    private HandlerMeters register(String handler) {
+        return new HandlerMeters(
+                Timer.builder("app.request.handler")
+                        .description("Time spent in the controller method, excluding the filter chain")
+                        .tag("handler", handler)
+                        .register(registry),
+                summary("app.request.db.statements", "JDBC statements prepared per request", handler),
+                summary("app.request.db.rows", "Rows returned by queries per request", handler),
+                summary("app.request.db.entities", "Entities loaded per request", handler));
+    }
+
+    private DistributionSummary summary(String name, String description, String handler) {
+        return DistributionSummary.builder(name)
+                .description(description)
+                .tag("handler", handler)
+                .register(registry);
+    }
+
+    private record HandlerMeters(Timer handlerTime, DistributionSummary statements,
+                                 DistributionSummary queryRows, DistributionSummary entityLoads) {
+    }
+}
@@ -0,0 +1,26 @@
+package com.rubix.project_management.metrics;
+
+// Database work done by the current request, bound to the request thread by RequestMetricsFilter
+// and fed by QueryCountingStatistics. Work on other threads (async exports, schedulers) is not counted.
+public final class RequestMetricsContext {
+
+    private static final ThreadLocal<RequestMetricsContext> CURRENT = new ThreadLocal<>();
+
+    long statements;
+    long queryRows;
+    long entityLoads;
+
+    static RequestMetricsContext begin() {
+        RequestMetricsContext context = new RequestMetricsContext();
+        CURRENT.set(context);
+        return context;
+    }
+
+    static void end() {
+        CURRENT.remove();
+    }
+
+    static RequestMetricsContext current() {
+        return CURRENT.get();
+    }
+}
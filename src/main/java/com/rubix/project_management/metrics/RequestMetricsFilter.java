@@ -0,0 +1,33 @@
+package com.rubix.project_management.metrics;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+// Binds a RequestMetricsContext for the whole request, including the security filters, and
+// records the statements and rows it collected against the handler that served the request
+public class RequestMetricsFilter extends OncePerRequestFilter {
+
+    private final RequestMetrics requestMetrics;
+
+    public RequestMetricsFilter(RequestMetrics requestMetrics) {
+        this.requestMetrics = requestMetrics;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        RequestMetricsContext context = RequestMetricsContext.begin();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            RequestMetricsContext.end();
+            requestMetrics.recordDatabaseWork(RequestMetrics.handlerName(request), context);
+        }
+    }
+}
@@ -0,0 +1,9 @@
+package com.rubix.project_management.repository;
+
+import java.time.LocalDateTime;
+
+public interface ProjectListVersion {
+    long getCount();
+    Long getMaxId();
+    LocalDateTime getMaxUpdatedAt();
+}
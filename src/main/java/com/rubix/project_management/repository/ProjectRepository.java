@@ -1,14 +1,80 @@
 package com.rubix.project_management.repository;
 
+import com.rubix.project_management.dto.ProjectResponse;
 import com.rubix.project_management.entity.Project;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface ProjectRepository extends JpaRepository<Project, Long> {
-    List<Project> findByUserId(Long userId);
+public interface ProjectRepository extends JpaRepository<Project, Long>, ProjectRepositoryCustom {
+    String PROJECT_RESPONSE = "new com.rubix.project_management.dto.ProjectResponse(" +
+            "p.id, p.name, p.description, p.createdAt, p.updatedAt, p.version)";
+
     Optional<Project> findByIdAndUserId(Long id, Long userId);
+
+    // Loads ProjectOwnershipCache
+    @Query("SELECT p.user.id FROM Project p WHERE p.id = :id")
+    Optional<Long> findOwnerIdById(@Param("id") Long id);
+
+    // Derived "findByUserId..." queries join users and drive the plan from projects.deleted_at;
+    // comparing the foreign key column lets the database seek the user_id index
+
+    // Listings select straight into ProjectResponse, without managed entities or snapshots
+
+    @Query("SELECT " + PROJECT_RESPONSE + " FROM Project p WHERE p.user.id = :userId")
+    List<ProjectResponse> findByUserId(@Param("userId") Long userId);
+
+    @Query("SELECT " + PROJECT_RESPONSE + " FROM Project p WHERE p.user.id = :userId AND p.id > :id ORDER BY p.id")
+    List<ProjectResponse> findByUserIdAndIdGreaterThanOrderByIdAsc(@Param("userId") Long userId,
+                                                                  @Param("id") Long id,
+                                                                  Limit limit);
+
+    @Query("SELECT p.id FROM Project p")
+    List<Long> findAllIds();
+
+    @Query("SELECT " + PROJECT_RESPONSE + " FROM Project p WHERE p.user.id = :userId AND p.updatedAt >= :since " +
+            "ORDER BY p.updatedAt, p.id")
+    List<ProjectResponse> findChangedSince(@Param("userId") Long userId, @Param("since") LocalDateTime since);
+
+    // Validators for conditional GETs
+
+    @Query("SELECT p.version AS version, p.updatedAt AS updatedAt FROM Project p " +
+            "WHERE p.id = :id AND p.user.id = :userId")
+    Optional<RowVersion> findVersionByIdAndUserId(@Param("id") Long id, @Param("userId") Long userId);
+
+    @Query("SELECT COUNT(p) AS count, MAX(p.id) AS maxId, MAX(p.updatedAt) AS maxUpdatedAt " +
+            "FROM Project p WHERE p.user.id = :userId")
+    ProjectListVersion findListVersionByUserId(@Param("userId") Long userId);
+
+    @Modifying
+    @Query("UPDATE Project p SET p.deletedAt = :deletedAt " +
+            "WHERE p.id = :projectId AND p.user.id = :userId AND p.deletedAt IS NULL")
+    int softDelete(@Param("projectId") Long projectId,
+                   @Param("userId") Long userId,
+                   @Param("deletedAt") LocalDateTime deletedAt);
+
+    // Native queries below see soft-deleted rows, which the entity restriction hides
+
+    @Query(value = "SELECT id, user_id FROM projects WHERE deleted_at IS NOT NULL ORDER BY deleted_at",
+            nativeQuery = true)
+    List<Object[]> findDeletedProjectOwners();
+
+    @Query(value = "SELECT COUNT(*) FROM projects WHERE deleted_at IS NOT NULL", nativeQuery = true)
+    long countDeleted();
+
+    @Query(value = "SELECT COUNT(*) FROM tasks t JOIN projects p ON p.id = t.project_id " +
+            "WHERE p.deleted_at IS NOT NULL", nativeQuery = true)
+    long countTasksOfDeleted();
+
+    @Modifying
+    @Query(value = "DELETE FROM projects WHERE id = :projectId AND deleted_at IS NOT NULL", nativeQuery = true)
+    int purgeDeleted(@Param("projectId") Long projectId);
 }
\ No newline at end of file
@@ -0,0 +1,9 @@
+package com.rubix.project_management.repository;
+
+import com.rubix.project_management.dto.ProjectPatch;
+
+import java.time.LocalDateTime;
+
+public interface ProjectRepositoryCustom {
+    int patch(Long projectId, Long userId, ProjectPatch patch, Long expectedVersion, LocalDateTime updatedAt);
+}
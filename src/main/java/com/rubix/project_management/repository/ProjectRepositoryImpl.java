@@ -0,0 +1,37 @@
+package com.rubix.project_management.repository;
+
+import com.rubix.project_management.dto.ProjectPatch;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Query;
+
+import java.time.LocalDateTime;
+
+public class ProjectRepositoryImpl implements ProjectRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    // Same as TaskRepositoryImpl.patch: the patched columns only, checked against owner and version
+    @Override
+    public int patch(Long projectId, Long userId, ProjectPatch patch, Long expectedVersion, LocalDateTime updatedAt) {
+        StringBuilder jpql = new StringBuilder("UPDATE Project p SET p.version = p.version + 1, p.updatedAt = :updatedAt");
+        for (String field : patch.getFields()) {
+            jpql.append(", p.").append(field).append(" = :").append(field);
+        }
+        jpql.append(" WHERE p.id = :projectId AND p.user.id = :userId AND p.deletedAt IS NULL");
+        if (expectedVersion != null) {
+            jpql.append(" AND p.version = :expectedVersion");
+        }
+
+        Query query = entityManager.createQuery(jpql.toString())
+                .setParameter("updatedAt", updatedAt)
+                .setParameter("projectId", projectId)
+                .setParameter("userId", userId);
+        patch.getValues().forEach(query::setParameter);
+        if (expectedVersion != null) {
+            query.setParameter("expectedVersion", expectedVersion);
+        }
+        return query.executeUpdate();
+    }
+}
@@ -0,0 +1,69 @@
+package com.rubix.project_management.repository;
+
+import com.rubix.project_management.entity.ProjectTaskCounts;
+import com.rubix.project_management.enums.Status;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface ProjectTaskCountsRepository extends JpaRepository<ProjectTaskCounts, Long> {
+
+    @Modifying
+    @Query("UPDATE ProjectTaskCounts c SET c.total = c.total + :total, " +
+            "c.pending = c.pending + :pending, c.inProgress = c.inProgress + :inProgress, " +
+            "c.completed = c.completed + :completed, c.lowPriority = c.lowPriority + :low, " +
+            "c.mediumPriority = c.mediumPriority + :medium, c.highPriority = c.highPriority + :high, " +
+            "c.version = c.version + 1, c.modifiedAt = :modifiedAt " +
+            "WHERE c.projectId = :projectId " +
+            "AND c.projectId IN (SELECT p.id FROM Project p WHERE p.id = :projectId AND p.deletedAt IS NULL)")
+    int addDelta(@Param("projectId") Long projectId,
+                 @Param("total") long total,
+                 @Param("pending") long pending,
+                 @Param("inProgress") long inProgress,
+                 @Param("completed") long completed,
+                 @Param("low") long low,
+                 @Param("medium") long medium,
+                 @Param("high") long high,
+                 @Param("modifiedAt") LocalDateTime modifiedAt);
+
+    @Query("SELECT c.version AS version, c.modifiedAt AS modifiedAt FROM ProjectTaskCounts c " +
+            "JOIN Project p ON p.id = c.projectId WHERE c.projectId = :projectId AND p.user.id = :userId")
+    Optional<TaskListVersion> findTaskListVersion(@Param("projectId") Long projectId,
+                                                  @Param("userId") Long userId);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT c FROM ProjectTaskCounts c WHERE c.projectId = :projectId")
+    Optional<ProjectTaskCounts> findForUpdate(@Param("projectId") Long projectId);
+
+    @Query("SELECT p.id, p.name, c FROM ProjectTaskCounts c JOIN Project p ON p.id = c.projectId " +
+            "WHERE p.user.id = :userId ORDER BY p.id")
+    List<Object[]> findSummariesByUserId(@Param("userId") Long userId);
+
+    @Query("SELECT t.project.id, COUNT(t) FROM Task t WHERE t.project.user.id = :userId " +
+            "AND t.dueDate < :today AND t.status <> :completed GROUP BY t.project.id")
+    List<Object[]> countOverdueByUserId(@Param("userId") Long userId,
+                                        @Param("today") LocalDate today,
+                                        @Param("completed") Status completed);
+
+    @Query("SELECT t.project.id, t.status, t.priority, COUNT(t) FROM Task t " +
+            "GROUP BY t.project.id, t.status, t.priority")
+    List<Object[]> countAllTasksGrouped();
+
+    @Query("SELECT t.status, t.priority, COUNT(t) FROM Task t WHERE t.project.id = :projectId " +
+            "GROUP BY t.status, t.priority")
+    List<Object[]> countTasksGrouped(@Param("projectId") Long projectId);
+
+    @Modifying
+    @Query("DELETE FROM ProjectTaskCounts c WHERE c.projectId = :projectId")
+    int deleteByProjectId(@Param("projectId") Long projectId);
+}
@@ -0,0 +1,8 @@
+package com.rubix.project_management.repository;
+
+import java.time.LocalDateTime;
+
+public interface RowVersion {
+    Long getVersion();
+    LocalDateTime getUpdatedAt();
+}
@@ -0,0 +1,22 @@
+package com.rubix.project_management.repository;
+
+import com.rubix.project_management.entity.SyncTombstone;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface SyncTombstoneRepository extends JpaRepository<SyncTombstone, Long> {
+
+    @Query("SELECT t FROM SyncTombstone t WHERE t.userId = :userId AND t.deletedAt >= :since")
+    List<SyncTombstone> findByUserIdDeletedSince(@Param("userId") Long userId, @Param("since") LocalDateTime since);
+
+    @Modifying
+    @Query("DELETE FROM SyncTombstone t WHERE t.deletedAt < :cutoff")
+    int deleteOlderThan(@Param("cutoff") LocalDateTime cutoff);
+}
@@ -0,0 +1,37 @@
+package com.rubix.project_management.repository;
+
+import com.rubix.project_management.entity.TaskHistoryEntry;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface TaskHistoryRepository extends JpaRepository<TaskHistoryEntry, Long> {
+
+    @Query("SELECT h FROM TaskHistoryEntry h WHERE h.taskId = :taskId AND h.projectId = :projectId " +
+            "ORDER BY h.id DESC")
+    List<TaskHistoryEntry> findLatest(@Param("taskId") Long taskId, @Param("projectId") Long projectId, Limit limit);
+
+    // The entries before beforeId back to and including the closest snapshot, oldest first:
+    // the base that the entries from beforeId on are replayed onto
+    @Query("SELECT h FROM TaskHistoryEntry h WHERE h.taskId = :taskId AND h.id < :beforeId " +
+            "AND h.id >= COALESCE((SELECT MAX(s.id) FROM TaskHistoryEntry s " +
+            "WHERE s.taskId = :taskId AND s.snapshot = true AND s.id < :beforeId), 0) ORDER BY h.id")
+    List<TaskHistoryEntry> findBase(@Param("taskId") Long taskId, @Param("beforeId") Long beforeId);
+
+    // Every task's entries since its latest snapshot, for the recorder to continue from
+    @Query("SELECT h FROM TaskHistoryEntry h WHERE h.taskId IN :taskIds " +
+            "AND h.id >= COALESCE((SELECT MAX(s.id) FROM TaskHistoryEntry s " +
+            "WHERE s.taskId = h.taskId AND s.snapshot = true), 0) ORDER BY h.taskId, h.id")
+    List<TaskHistoryEntry> findSinceLatestSnapshot(@Param("taskIds") Collection<Long> taskIds);
+
+    @Modifying
+    @Query("DELETE FROM TaskHistoryEntry h WHERE h.projectId = :projectId")
+    int deleteByProjectId(@Param("projectId") Long projectId);
+}
@@ -0,0 +1,8 @@
+package com.rubix.project_management.repository;
+
+import java.time.LocalDateTime;
+
+public interface TaskListVersion {
+    long getVersion();
+    LocalDateTime getModifiedAt();
+}
@@ -1,38 +1,141 @@
 package com.rubix.project_management.repository;
 
+import com.rubix.project_management.dto.TaskResponse;
 import com.rubix.project_management.entity.Task;
 import com.rubix.project_management.enums.Priority;
 import com.rubix.project_management.enums.Status;
+import com.rubix.project_management.search.TaskDocument;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
 
 @Repository
-public interface TaskRepository extends JpaRepository<Task, Long> {
-    List<Task> findByProjectId(Long projectId);
-    List<Task> findByProjectId(Long projectId, Sort sort);
-    Optional<Task> findByIdAndProjectId(Long id, Long projectId);
+public interface TaskRepository extends JpaRepository<Task, Long>, TaskRepositoryCustom {
+    int EXPORT_FETCH_SIZE = 500;
+
+    // Read paths select straight into TaskResponse: no managed entities or snapshots, and
+    // t.project.id is read from the project_id column without touching projects
+    String TASK_RESPONSE = "new com.rubix.project_management.dto.TaskResponse(t.id, t.title, " +
+            "t.description, t.status, t.priority, t.dueDate, t.project.id, t.createdAt, t.updatedAt, t.version)";
+
+    // Derived queries on project.id outer-join projects for its deleted_at restriction and filter on
+    // projects.id, which scans tasks; callers check the project first, so compare the column directly
+
+    @Query("SELECT t FROM Task t WHERE t.project.id = :projectId")
+    List<Task> findByProjectId(@Param("projectId") Long projectId);
+
+    @Query("SELECT " + TASK_RESPONSE + " FROM Task t WHERE t.project.id = :projectId")
+    List<TaskResponse> findResponsesByProjectId(@Param("projectId") Long projectId, Sort sort);
+
+    @Query("SELECT t FROM Task t WHERE t.id = :id AND t.project.id = :projectId")
+    Optional<Task> findByIdAndProjectId(@Param("id") Long id, @Param("projectId") Long projectId);
+
+    @Query("SELECT t FROM Task t WHERE t.project.id = :projectId AND t.id IN :ids")
+    List<Task> findByProjectIdAndIdIn(@Param("projectId") Long projectId, @Param("ids") Collection<Long> ids);
+
+    @Query("SELECT t.id FROM Task t WHERE t.project.id = :projectId")
+    List<Long> findIdsByProjectId(@Param("projectId") Long projectId, Limit limit);
+
+    @Modifying
+    @Query("DELETE FROM Task t WHERE t.id IN :ids")
+    int deleteAllByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT t FROM Task t WHERE t.id = :taskId AND t.project.id = :projectId " +
+            "AND t.project.user.id = :userId")
+    Optional<Task> findOwnedTask(@Param("taskId") Long taskId,
+                                 @Param("projectId") Long projectId,
+                                 @Param("userId") Long userId);
+
+    @Query("SELECT t.version AS version, t.updatedAt AS updatedAt FROM Task t " +
+            "WHERE t.id = :taskId AND t.project.id = :projectId AND t.project.user.id = :userId")
+    Optional<RowVersion> findOwnedTaskVersion(@Param("taskId") Long taskId,
+                                              @Param("projectId") Long projectId,
+                                              @Param("userId") Long userId);
+
+    @Query("SELECT t.status AS status, t.priority AS priority, t.version AS version FROM Task t " +
+            "WHERE t.id = :taskId AND t.project.id = :projectId AND t.project.user.id = :userId")
+    Optional<TaskState> findOwnedTaskState(@Param("taskId") Long taskId,
+                                           @Param("projectId") Long projectId,
+                                           @Param("userId") Long userId);
+
+    // Compare-and-set writes: they only apply if the row still has the state read by
+    // findOwnedTaskState, so the counter delta derived from that state is exact
+
+    @Modifying
+    @Query("UPDATE Task t SET t.status = :status, t.updatedAt = :updatedAt, t.version = t.version + 1 " +
+            "WHERE t.id = :taskId AND t.version = :expectedVersion")
+    int compareAndSetStatus(@Param("taskId") Long taskId,
+                            @Param("expectedVersion") Long expectedVersion,
+                            @Param("status") Status status,
+                            @Param("updatedAt") LocalDateTime updatedAt);
+
+    @Modifying
+    @Query("DELETE FROM Task t WHERE t.id = :taskId AND t.version = :expectedVersion")
+    int deleteIfUnchanged(@Param("taskId") Long taskId, @Param("expectedVersion") Long expectedVersion);
 
     @Query("SELECT t FROM Task t WHERE t.project.user.id = :userId")
     List<Task> findAllByUserId(@Param("userId") Long userId);
 
-    @Query("SELECT t FROM Task t WHERE t.project.user.id = :userId " +
+    // Tasks of the user's live projects after the keyset position (since, afterId) in (updatedAt, id)
+    // order. Reads idx_tasks_project_updated_at from since on for each project, so the rows read
+    // grow with the changes rather than with the user's tasks
+    @Query("SELECT " + TASK_RESPONSE + " FROM Task t JOIN Project p ON p.id = t.project.id " +
+            "WHERE p.user.id = :userId AND t.updatedAt >= :since AND (t.updatedAt > :since OR t.id > :afterId) " +
+            "ORDER BY t.updatedAt, t.id")
+    List<TaskResponse> findChangedSince(@Param("userId") Long userId,
+                                        @Param("since") LocalDateTime since,
+                                        @Param("afterId") Long afterId,
+                                        Limit limit);
+
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "" + EXPORT_FETCH_SIZE))
+    @Query("SELECT " + TASK_RESPONSE + " FROM Task t WHERE t.project.user.id = :userId " +
+            "AND (:status IS NULL OR t.status = :status) " +
+            "AND (:priority IS NULL OR t.priority = :priority) " +
+            "AND (:updatedSince IS NULL OR t.updatedAt >= :updatedSince) " +
+            "ORDER BY t.id")
+    Stream<TaskResponse> streamAllByUserId(@Param("userId") Long userId,
+                                           @Param("status") Status status,
+                                           @Param("priority") Priority priority,
+                                           @Param("updatedSince") LocalDateTime updatedSince);
+
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "" + EXPORT_FETCH_SIZE))
+    @Query("SELECT new com.rubix.project_management.search.TaskDocument(" +
+            "t.id, t.project.user.id, t.title, t.description) FROM Task t")
+    Stream<TaskDocument> streamSearchDocuments();
+
+    @Query("SELECT " + TASK_RESPONSE + " FROM Task t WHERE t.id IN :ids AND t.project.user.id = :userId")
+    List<TaskResponse> findByIdInAndUserId(@Param("ids") Collection<Long> ids,
+                                           @Param("userId") Long userId,
+                                           Sort sort,
+                                           Limit limit);
+
+    @Query("SELECT " + TASK_RESPONSE + " FROM Task t WHERE t.project.user.id = :userId " +
             "AND (LOWER(t.title) LIKE LOWER(CONCAT('%', :search, '%')) " +
             "OR LOWER(t.description) LIKE LOWER(CONCAT('%', :search, '%')))")
-    List<Task> searchTasksByUser(@Param("userId") Long userId,
-                                 @Param("search") String search,
-                                 Sort sort);
+    List<TaskResponse> searchTasksByUser(@Param("userId") Long userId,
+                                         @Param("search") String search,
+                                         Sort sort,
+                                         Limit limit);
 
-    @Query("SELECT t FROM Task t WHERE t.project.id = :projectId " +
+    @Query("SELECT " + TASK_RESPONSE + " FROM Task t WHERE t.project.id = :projectId " +
             "AND (:status IS NULL OR t.status = :status) " +
             "AND (:priority IS NULL OR t.priority = :priority)")
-    List<Task> findByProjectIdWithFilters(@Param("projectId") Long projectId,
-                                          @Param("status") Status status,
-                                          @Param("priority") Priority priority,
-                                          Sort sort);
+    List<TaskResponse> findByProjectIdWithFilters(@Param("projectId") Long projectId,
+                                                  @Param("status") Status status,
+                                                  @Param("priority") Priority priority,
+                                                  Sort sort);
 }
\ No newline at end of file
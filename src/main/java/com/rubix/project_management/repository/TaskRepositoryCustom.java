@@ -0,0 +1,19 @@
+package com.rubix.project_management.repository;
+
+import com.rubix.project_management.dto.Cursor;
+import com.rubix.project_management.dto.TaskPatch;
+import com.rubix.project_management.dto.TaskResponse;
+import com.rubix.project_management.enums.Priority;
+import com.rubix.project_management.enums.Status;
+import com.rubix.project_management.enums.TaskSortField;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface TaskRepositoryCustom {
+    List<TaskResponse> findPageByProjectId(Long projectId, Status status, Priority priority,
+                                           TaskSortField sortField, Cursor after, int limit);
+
+    int patch(Long taskId, Long projectId, Long userId, TaskPatch patch,
+              Long expectedVersion, LocalDateTime updatedAt);
+}
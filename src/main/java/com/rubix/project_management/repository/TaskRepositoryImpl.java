@@ -0,0 +1,102 @@
+package com.rubix.project_management.repository;
+
+import com.rubix.project_management.dto.Cursor;
+import com.rubix.project_management.dto.TaskPatch;
+import com.rubix.project_management.dto.TaskResponse;
+import com.rubix.project_management.enums.Priority;
+import com.rubix.project_management.enums.Status;
+import com.rubix.project_management.enums.TaskSortField;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Query;
+import jakarta.persistence.TypedQuery;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public class TaskRepositoryImpl implements TaskRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    // Seeks past (sortKey, id) instead of using OFFSET, so every page costs the same.
+    // Nullable keys sort last: a null cursor value only continues within the null block.
+    @Override
+    public List<TaskResponse> findPageByProjectId(Long projectId, Status status, Priority priority,
+                                                  TaskSortField sortField, Cursor after, int limit) {
+        String key = "t." + sortField.getProperty();
+        Object afterValue = after == null ? null : sortField.parse(after.getValue());
+
+        StringBuilder jpql = new StringBuilder("SELECT " + TaskRepository.TASK_RESPONSE +
+                " FROM Task t WHERE t.project.id = :projectId");
+        if (status != null) {
+            jpql.append(" AND t.status = :status");
+        }
+        if (priority != null) {
+            jpql.append(" AND t.priority = :priority");
+        }
+        if (after != null) {
+            if (sortField == TaskSortField.ID) {
+                jpql.append(" AND t.id > :afterId");
+            } else if (afterValue == null) {
+                jpql.append(" AND ").append(key).append(" IS NULL AND t.id > :afterId");
+            } else {
+                jpql.append(" AND (").append(key).append(" > :afterValue OR (")
+                        .append(key).append(" = :afterValue AND t.id > :afterId)");
+                if (sortField.isNullable()) {
+                    jpql.append(" OR ").append(key).append(" IS NULL");
+                }
+                jpql.append(")");
+            }
+        }
+        jpql.append(" ORDER BY ");
+        if (sortField != TaskSortField.ID) {
+            jpql.append(key).append(" ASC NULLS LAST, ");
+        }
+        jpql.append("t.id ASC");
+
+        TypedQuery<TaskResponse> query = entityManager.createQuery(jpql.toString(), TaskResponse.class)
+                .setParameter("projectId", projectId)
+                .setMaxResults(limit);
+        if (status != null) {
+            query.setParameter("status", status);
+        }
+        if (priority != null) {
+            query.setParameter("priority", priority);
+        }
+        if (after != null) {
+            query.setParameter("afterId", after.getId());
+            if (sortField != TaskSortField.ID && afterValue != null) {
+                query.setParameter("afterValue", afterValue);
+            }
+        }
+        return query.getResultList();
+    }
+
+    // One UPDATE of only the patched columns, without loading the row first. Ownership is part of
+    // the WHERE clause; with an expected version the write only applies to that version of the row.
+    @Override
+    public int patch(Long taskId, Long projectId, Long userId, TaskPatch patch,
+                     Long expectedVersion, LocalDateTime updatedAt) {
+        StringBuilder jpql = new StringBuilder("UPDATE Task t SET t.version = t.version + 1, t.updatedAt = :updatedAt");
+        for (String field : patch.getFields()) {
+            jpql.append(", t.").append(field).append(" = :").append(field);
+        }
+        jpql.append(" WHERE t.id = :taskId AND t.project.id = :projectId" +
+                " AND t.project.id IN (SELECT p.id FROM Project p WHERE p.id = :projectId AND p.user.id = :userId)");
+        if (expectedVersion != null) {
+            jpql.append(" AND t.version = :expectedVersion");
+        }
+
+        Query query = entityManager.createQuery(jpql.toString())
+                .setParameter("updatedAt", updatedAt)
+                .setParameter("taskId", taskId)
+                .setParameter("projectId", projectId)
+                .setParameter("userId", userId);
+        patch.getValues().forEach(query::setParameter);
+        if (expectedVersion != null) {
+            query.setParameter("expectedVersion", expectedVersion);
+        }
+        return query.executeUpdate();
+    }
+}
@@ -0,0 +1,10 @@
+package com.rubix.project_management.repository;
+
+import com.rubix.project_management.enums.Priority;
+import com.rubix.project_management.enums.Status;
+
+public interface TaskState {
+    Status getStatus();
+    Priority getPriority();
+    Long getVersion();
+}
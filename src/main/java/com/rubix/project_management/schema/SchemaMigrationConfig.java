@@ -0,0 +1,20 @@
+package com.rubix.project_management.schema;
+
+import org.flywaydb.core.Flyway;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.flyway.FlywayMigrationStrategy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+// The schema is owned by the Flyway migrations in db/migration; Hibernate only validates it.
+// Migrations run on startup unless app.schema.migrate-on-startup=false (the prod profile), where
+// they are applied by the deployment and startup fails on pending or modified migrations.
+@Configuration
+public class SchemaMigrationConfig {
+
+    @Bean
+    @ConditionalOnProperty(name = "app.schema.migrate-on-startup", havingValue = "false")
+    public FlywayMigrationStrategy validateOnlyMigrationStrategy() {
+        return Flyway::validate;
+    }
+}
@@ -0,0 +1,28 @@
+package com.rubix.project_management.search;
+
+import lombok.Data;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+public class IndexConsistencyReport {
+    private static final int MAX_REPORTED_IDS = 100;
+
+    private long databaseTasks;
+    private long indexedTasks;
+    private long missingTasks;
+    private long staleTasks;
+    private long outdatedTasks;
+    private List<Long> mismatchedTaskIds = new ArrayList<>();
+
+    public boolean isConsistent() {
+        return missingTasks == 0 && staleTasks == 0 && outdatedTasks == 0;
+    }
+
+    void addMismatch(Long taskId) {
+        if (mismatchedTaskIds.size() < MAX_REPORTED_IDS) {
+            mismatchedTaskIds.add(taskId);
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package com.rubix.project_management.search;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class TaskDocument {
+    private Long id;
+    private Long userId;
+    private String title;
+    private String description;
+}
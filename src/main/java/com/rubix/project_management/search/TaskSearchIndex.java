@@ -0,0 +1,181 @@
+package com.rubix.project_management.search;
+
+import com.rubix.project_management.enums.ChangeType;
+import com.rubix.project_management.event.TaskChangedEvent;
+import com.rubix.project_management.repository.TaskRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+// In-memory inverted index over task titles and descriptions, partitioned per user.
+// Kept current from committed TaskChangedEvents and rebuilt in the background at startup;
+// until the first rebuild completes, search() returns null and callers fall back to SQL.
+@Slf4j
+@Component
+public class TaskSearchIndex {
+
+    private final TaskRepository taskRepository;
+    private final TransactionTemplate readOnlyTransaction;
+    private final ExecutorService rebuildExecutor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "task-search-index-rebuild");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private volatile Map<Long, UserIndex> partitions = new ConcurrentHashMap<>();
+    private volatile boolean ready;
+    private volatile boolean rebuilding;
+    // Changes that commit while a rebuild is scanning, replayed onto the new index before the swap
+    private final List<TaskChangedEvent> pendingChanges = new ArrayList<>();
+
+    public TaskSearchIndex(TaskRepository taskRepository, PlatformTransactionManager transactionManager) {
+        this.taskRepository = taskRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildOnStartup() {
+        rebuildAsync();
+    }
+
+    public synchronized boolean rebuildAsync() {
+        if (rebuilding) {
+            return false;
+        }
+        rebuilding = true;
+        rebuildExecutor.execute(this::rebuild);
+        return true;
+    }
+
+    private void rebuild() {
+        long started = System.currentTimeMillis();
+        try {
+            Map<Long, UserIndex> rebuilt = new ConcurrentHashMap<>();
+            long[] count = {0};
+            scanDatabase(document -> {
+                rebuilt.computeIfAbsent(document.getUserId(), id -> new UserIndex())
+                        .put(document.getId(), document.getTitle(), document.getDescription());
+                count[0]++;
+            });
+            synchronized (this) {
+                pendingChanges.forEach(event -> apply(rebuilt, event));
+                pendingChanges.clear();
+                partitions = rebuilt;
+                ready = true;
+                rebuilding = false;
+            }
+            log.info("Task search index rebuilt: {} tasks in {} ms", count[0], System.currentTimeMillis() - started);
+        } catch (RuntimeException e) {
+            synchronized (this) {
+                pendingChanges.clear();
+                rebuilding = false;
+            }
+            log.error("Task search index rebuild failed", e);
+        }
+    }
+
+    @TransactionalEventListener
+    public void onTaskChanged(TaskChangedEvent event) {
+        synchronized (this) {
+            if (rebuilding) {
+                pendingChanges.add(event);
+            }
+        }
+        apply(partitions, event);
+    }
+
+    private static void apply(Map<Long, UserIndex> target, TaskChangedEvent event) {
+        Long taskId = event.getTask().getId();
+        if (event.getType() == ChangeType.DELETED) {
+            UserIndex index = target.get(event.getUserId());
+            if (index != null) {
+                index.remove(taskId);
+            }
+        } else if (event.changed("title") || event.changed("description")) {
+            target.computeIfAbsent(event.getUserId(), id -> new UserIndex())
+                    .put(taskId, event.getTask().getTitle(), event.getTask().getDescription());
+        }
+    }
+
+    // The limit best-ranked task ids matching every term of the query as a prefix, or null if the
+    // index is not ready yet
+    public List<Long> search(Long userId, String query, int limit) {
+        if (!ready) {
+            return null;
+        }
+        List<String> terms = Tokenizer.distinctTerms(query);
+        UserIndex index = partitions.get(userId);
+        if (terms.isEmpty() || index == null) {
+            return List.of();
+        }
+        return index.search(terms, limit);
+    }
+
+    public IndexConsistencyReport checkConsistency() {
+        IndexConsistencyReport report = new IndexConsistencyReport();
+        Map<Long, UserIndex> current = partitions;
+        Map<Long, Set<Long>> unseen = new HashMap<>();
+        current.forEach((userId, index) -> unseen.put(userId, index.taskIds()));
+
+        scanDatabase(document -> {
+            report.setDatabaseTasks(report.getDatabaseTasks() + 1);
+            UserIndex index = current.get(document.getUserId());
+            Set<String> indexedTerms = index == null ? null : index.termsOf(document.getId());
+            if (indexedTerms == null) {
+                report.setMissingTasks(report.getMissingTasks() + 1);
+                report.addMismatch(document.getId());
+                return;
+            }
+            unseen.get(document.getUserId()).remove(document.getId());
+            Set<String> expected = new HashSet<>(Tokenizer.tokenize(document.getTitle()));
+            expected.addAll(Tokenizer.tokenize(document.getDescription()));
+            if (!expected.equals(indexedTerms)) {
+                report.setOutdatedTasks(report.getOutdatedTasks() + 1);
+                report.addMismatch(document.getId());
+            }
+        });
+
+        unseen.values().forEach(taskIds -> taskIds.forEach(taskId -> {
+            report.setStaleTasks(report.getStaleTasks() + 1);
+            report.addMismatch(taskId);
+        }));
+        report.setIndexedTasks(current.values().stream().mapToLong(UserIndex::size).sum());
+        return report;
+    }
+
+    public Map<String, Object> status() {
+        Map<String, Object> status = new LinkedHashMap<>();
+        status.put("ready", ready);
+        status.put("rebuilding", rebuilding);
+        status.put("users", partitions.size());
+        status.put("tasks", partitions.values().stream().mapToLong(UserIndex::size).sum());
+        status.put("terms", partitions.values().stream().mapToLong(UserIndex::termCount).sum());
+        return status;
+    }
+
+    private void scanDatabase(Consumer<TaskDocument> consumer) {
+        readOnlyTransaction.executeWithoutResult(tx -> {
+            try (Stream<TaskDocument> documents = taskRepository.streamSearchDocuments()) {
+                documents.forEach(consumer);
+            }
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        rebuildExecutor.shutdownNow();
+    }
+}
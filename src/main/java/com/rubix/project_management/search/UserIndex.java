@@ -0,0 +1,148 @@
+package com.rubix.project_management.search;
+
+import java.util.*;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+// One user's partition of the inverted index: term -> (taskId -> weight),
+// plus the forward mapping taskId -> terms needed to unindex a task
+class UserIndex {
+
+    private static final int TITLE_WEIGHT = 3;
+    private static final double PREFIX_MATCH_FACTOR = 0.5;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final TreeMap<String, Map<Long, Integer>> postings = new TreeMap<>();
+    private final Map<Long, Set<String>> documents = new HashMap<>();
+
+    void put(Long taskId, String title, String description) {
+        Map<String, Integer> weights = new HashMap<>();
+        for (String term : Tokenizer.tokenize(title)) {
+            weights.merge(term, TITLE_WEIGHT, Integer::sum);
+        }
+        for (String term : Tokenizer.tokenize(description)) {
+            weights.merge(term, 1, Integer::sum);
+        }
+
+        lock.writeLock().lock();
+        try {
+            removeUnlocked(taskId);
+            weights.forEach((term, weight) ->
+                    postings.computeIfAbsent(term, t -> new HashMap<>()).put(taskId, weight));
+            documents.put(taskId, weights.keySet());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    void remove(Long taskId) {
+        lock.writeLock().lock();
+        try {
+            removeUnlocked(taskId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void removeUnlocked(Long taskId) {
+        Set<String> terms = documents.remove(taskId);
+        if (terms == null) {
+            return;
+        }
+        for (String term : terms) {
+            Map<Long, Integer> posting = postings.get(term);
+            posting.remove(taskId);
+            if (posting.isEmpty()) {
+                postings.remove(term);
+            }
+        }
+    }
+
+    // AND across query terms, each matched as a prefix; scored by weight * idf,
+    // with exact term matches counting double a prefix match. Returns the best limit ids.
+    List<Long> search(List<String> queryTerms, int limit) {
+        lock.readLock().lock();
+        try {
+            int documentCount = documents.size();
+            Map<Long, Double> scores = null;
+            for (String queryTerm : queryTerms) {
+                Map<Long, Double> termScores = new HashMap<>();
+                for (Map.Entry<String, Map<Long, Integer>> entry
+                        : postings.subMap(queryTerm, true, queryTerm + Character.MAX_VALUE, false).entrySet()) {
+                    Map<Long, Integer> posting = entry.getValue();
+                    double idf = Math.log(1.0 + (double) documentCount / posting.size());
+                    double factor = entry.getKey().equals(queryTerm) ? 1.0 : PREFIX_MATCH_FACTOR;
+                    for (Map.Entry<Long, Integer> hit : posting.entrySet()) {
+                        if (scores == null || scores.containsKey(hit.getKey())) {
+                            termScores.merge(hit.getKey(), hit.getValue() * idf * factor, Double::sum);
+                        }
+                    }
+                }
+                if (scores != null) {
+                    Map<Long, Double> previous = scores;
+                    termScores.replaceAll((taskId, score) -> score + previous.get(taskId));
+                }
+                scores = termScores;
+                if (scores.isEmpty()) {
+                    return List.of();
+                }
+            }
+
+            // Top-k with a heap holding the worst of the best k on top: O(n log k), not a sort of every hit
+            Comparator<Map.Entry<Long, Double>> best = Map.Entry.<Long, Double>comparingByValue().reversed()
+                    .thenComparing(Map.Entry.comparingByKey());
+            PriorityQueue<Map.Entry<Long, Double>> top =
+                    new PriorityQueue<>(Math.min(limit, scores.size()) + 1, best.reversed());
+            for (Map.Entry<Long, Double> entry : scores.entrySet()) {
+                top.offer(entry);
+                if (top.size() > limit) {
+                    top.poll();
+                }
+            }
+            List<Map.Entry<Long, Double>> ranked = new ArrayList<>(top);
+            ranked.sort(best);
+            List<Long> taskIds = new ArrayList<>(ranked.size());
+            for (Map.Entry<Long, Double> entry : ranked) {
+                taskIds.add(entry.getKey());
+            }
+            return taskIds;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    Set<String> termsOf(Long taskId) {
+        lock.readLock().lock();
+        try {
+            return documents.get(taskId);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    Set<Long> taskIds() {
+        lock.readLock().lock();
+        try {
+            return new HashSet<>(documents.keySet());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    int size() {
+        lock.readLock().lock();
+        try {
+            return documents.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    int termCount() {
+        lock.readLock().lock();
+        try {
+            return postings.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+}
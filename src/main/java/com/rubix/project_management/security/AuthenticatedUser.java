@@ -0,0 +1,25 @@
+package com.rubix.project_management.security;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.springframework.security.core.CredentialsContainer;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.Collection;
+
+// Principal of authenticated requests; carries the user id so services never
+// have to look the user up by name
+@Getter
+@AllArgsConstructor
+public class AuthenticatedUser implements UserDetails, CredentialsContainer {
+    private final Long id;
+    private final String username;
+    private String password;
+    private final Collection<? extends GrantedAuthority> authorities;
+
+    @Override
+    public void eraseCredentials() {
+        password = null;
+    }
+}
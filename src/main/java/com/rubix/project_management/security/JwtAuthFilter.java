@@ -1,24 +1,33 @@
 package com.rubix.project_management.security;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
-import lombok.RequiredArgsConstructor;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.UserDetails;
-import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.util.concurrent.TimeUnit;
 
-@RequiredArgsConstructor
 public class JwtAuthFilter extends OncePerRequestFilter {
 
     private final JwtUtil jwtUtil;
-    private final UserDetailsService userDetailsService;
+    private final UserDetailsCache userDetailsCache;
+    private final Timer authenticationTimer;
+
+    public JwtAuthFilter(JwtUtil jwtUtil, UserDetailsCache userDetailsCache, MeterRegistry meterRegistry) {
+        this.jwtUtil = jwtUtil;
+        this.userDetailsCache = userDetailsCache;
+        // Token verification and principal lookup only; the rest of the chain is not included
+        this.authenticationTimer = Timer.builder("app.security.jwt")
+                .description("Time spent authenticating a bearer token in JwtAuthFilter")
+                .register(meterRegistry);
+    }
 
     @Override
     protected void doFilterInternal(HttpServletRequest request,
@@ -32,19 +41,23 @@ public class JwtAuthFilter extends OncePerRequestFilter {
             return;
         }
 
+        long started = System.nanoTime();
         try {
             final String jwt = authHeader.substring(7);
-            final String username = jwtUtil.extractUsername(jwt);
+            final VerifiedToken token = jwtUtil.verify(jwt);
+            final String username = token.getUsername();
 
             if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-                UserDetails userDetails = userDetailsService.loadUserByUsername(username);
+                AuthenticatedUser user = userDetailsCache.get(username);
 
-                if (jwtUtil.validateToken(jwt, userDetails)) {
+                // Tokens issued before the id claim existed fall back to the looked-up id;
+                // a mismatch means the username now belongs to a different account
+                if (token.getUserId() == null || token.getUserId().equals(user.getId())) {
                     UsernamePasswordAuthenticationToken authToken =
                             new UsernamePasswordAuthenticationToken(
-                                    userDetails,
+                                    user,
                                     null,
-                                    userDetails.getAuthorities()
+                                    user.getAuthorities()
                             );
                     authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
                     SecurityContextHolder.getContext().setAuthentication(authToken);
@@ -53,6 +66,7 @@ public class JwtAuthFilter extends OncePerRequestFilter {
         } catch (Exception e) {
             logger.error("Cannot set user authentication: {}", e);
         }
+        authenticationTimer.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
 
         filterChain.doFilter(request, response);
     }
@@ -1,12 +1,17 @@
 package com.rubix.project_management.security;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.Keys;
+import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
 
 import javax.crypto.SecretKey;
+import java.time.Duration;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
@@ -21,8 +26,62 @@ public class JwtUtil {
     @Value("${jwt.expiration}")
     private Long expiration;
 
+    @Value("${jwt.verification-cache.enabled:true}")
+    private boolean verificationCacheEnabled;
+
+    @Value("${jwt.verification-cache.maximum-size:10000}")
+    private long verificationCacheMaximumSize;
+
+    @Value("${jwt.verification-cache.ttl:1m}")
+    private Duration verificationCacheTtl;
+
+    static final String USER_ID_CLAIM = "uid";
+
+    private SecretKey signingKey;
+    private JwtParser parser;
+    // Keyed by the whole compact token, never the signature alone, so a cached
+    // signature can't vouch for a different payload
+    private Cache<String, VerifiedToken> verifiedTokens;
+
+    @PostConstruct
+    void init() {
+        signingKey = Keys.hmacShaKeyFor(secret.getBytes());
+        parser = Jwts.parser()
+                .verifyWith(signingKey)
+                .build();
+        if (verificationCacheEnabled) {
+            verifiedTokens = Caffeine.newBuilder()
+                    .maximumSize(verificationCacheMaximumSize)
+                    .expireAfter(new TokenExpiry(verificationCacheTtl))
+                    .build();
+        }
+    }
+
     private SecretKey getSigningKey() {
-        return Keys.hmacShaKeyFor(secret.getBytes());
+        return signingKey;
+    }
+
+    // Parses and checks the signature and expiry once; throws JwtException if the token is not valid
+    // or has no expiry
+    public VerifiedToken verify(String token) {
+        if (verifiedTokens != null) {
+            VerifiedToken cached = verifiedTokens.getIfPresent(token);
+            if (cached != null && !cached.isExpired()) {
+                return cached;
+            }
+        }
+        Claims claims = extractAllClaims(token);
+        // A token without exp would never expire; every token this app issues has one
+        if (claims.getExpiration() == null) {
+            throw new MalformedJwtException("Token has no expiration");
+        }
+        VerifiedToken verified = new VerifiedToken(
+                claims.getSubject(), claims.get(USER_ID_CLAIM, Long.class),
+                claims.getIssuedAt(), claims.getExpiration(), claims);
+        if (verifiedTokens != null) {
+            verifiedTokens.put(token, verified);
+        }
+        return verified;
     }
 
     public String extractUsername(String token) {
@@ -34,25 +93,29 @@ public class JwtUtil {
     }
 
     public <T> T extractClaim(String token, Function<Claims, T> claimsResolver) {
-        final Claims claims = extractAllClaims(token);
+        final Claims claims = verify(token).getClaims();
         return claimsResolver.apply(claims);
     }
 
     private Claims extractAllClaims(String token) {
-        return Jwts.parser()
-                .verifyWith(getSigningKey())
-                .build()
-                .parseSignedClaims(token)
+        return parser.parseSignedClaims(token)
                 .getPayload();
     }
 
-    private Boolean isTokenExpired(String token) {
-        return extractExpiration(token).before(new Date());
+    public String generateToken(UserDetails userDetails) {
+        return generateToken(userDetails, null);
     }
 
-    public String generateToken(UserDetails userDetails) {
+    public String generateToken(UserDetails userDetails, Long userId) {
+        return generateToken(userDetails.getUsername(), userId);
+    }
+
+    public String generateToken(String username, Long userId) {
         Map<String, Object> claims = new HashMap<>();
-        return createToken(claims, userDetails.getUsername());
+        if (userId != null) {
+            claims.put(USER_ID_CLAIM, userId);
+        }
+        return createToken(claims, username);
     }
 
     private String createToken(Map<String, Object> claims, String subject) {
@@ -66,7 +129,27 @@ public class JwtUtil {
     }
 
     public Boolean validateToken(String token, UserDetails userDetails) {
-        final String username = extractUsername(token);
-        return (username.equals(userDetails.getUsername()) && !isTokenExpired(token));
+        final VerifiedToken verified = verify(token);
+        return (verified.getUsername().equals(userDetails.getUsername()) && !verified.isExpired());
+    }
+
+    // Cached verifications live for the configured TTL, but never past the token's own expiry
+    private record TokenExpiry(Duration ttl) implements Expiry<String, VerifiedToken> {
+
+        @Override
+        public long expireAfterCreate(String token, VerifiedToken verified, long currentTime) {
+            long untilExpiry = verified.getExpiration().getTime() - System.currentTimeMillis();
+            return Math.max(0, Math.min(ttl.toNanos(), Duration.ofMillis(untilExpiry).toNanos()));
+        }
+
+        @Override
+        public long expireAfterUpdate(String token, VerifiedToken verified, long currentTime, long currentDuration) {
+            return expireAfterCreate(token, verified, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String token, VerifiedToken verified, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
     }
-}
\ No newline at end of file
+}
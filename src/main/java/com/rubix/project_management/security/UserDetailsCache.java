@@ -0,0 +1,80 @@
+package com.rubix.project_management.security;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsService;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+// Bounded, expiring cache of the principals the JWT filter builds on every request.
+// Entries never hold the password hash; logins keep going through the uncached
+// UserDetailsService. Concurrent misses for one username share a single load.
+// The load runs outside the cache's map lock: a JDBC call inside ConcurrentHashMap.compute
+// would pin a virtual thread to its carrier for the whole query.
+public class UserDetailsCache {
+
+    private final UserDetailsService delegate;
+    private final AsyncCache<String, AuthenticatedUser> cache;
+
+    public UserDetailsCache(UserDetailsService delegate, long maximumSize, Duration ttl) {
+        this.delegate = delegate;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .buildAsync();
+    }
+
+    public AuthenticatedUser get(String username) {
+        CompletableFuture<AuthenticatedUser> created = new CompletableFuture<>();
+        CompletableFuture<AuthenticatedUser> future = cache.get(username, (key, executor) -> created);
+        if (future == created) {
+            try {
+                created.complete(load(username));
+            } catch (RuntimeException e) {
+                created.completeExceptionally(e);
+            }
+        }
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private AuthenticatedUser load(String username) {
+        AuthenticatedUser user = (AuthenticatedUser) delegate.loadUserByUsername(username);
+        return new AuthenticatedUser(user.getId(), user.getUsername(), "", user.getAuthorities());
+    }
+
+    // Call when a user's password, roles or account state change, or the user is deleted
+    public void evict(String username) {
+        cache.synchronous().invalidate(username);
+    }
+
+    public void evictAll() {
+        cache.synchronous().invalidateAll();
+    }
+
+    public Map<String, Object> stats() {
+        CacheStats stats = cache.synchronous().stats();
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("size", cache.synchronous().estimatedSize());
+        result.put("hits", stats.hitCount());
+        result.put("misses", stats.missCount());
+        result.put("hitRate", stats.hitRate());
+        result.put("evictions", stats.evictionCount());
+        result.put("loadFailures", stats.loadFailureCount());
+        result.put("averageLoadMillis", stats.averageLoadPenalty() / 1_000_000.0);
+        return result;
+    }
+}
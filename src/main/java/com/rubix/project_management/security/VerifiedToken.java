@@ -0,0 +1,20 @@
+package com.rubix.project_management.security;
+
+import io.jsonwebtoken.Claims;
+import lombok.Value;
+
+import java.util.Date;
+
+// Claims of a token whose signature and expiry have already been checked
+@Value
+public class VerifiedToken {
+    String username;
+    Long userId;
+    Date issuedAt;
+    Date expiration;
+    Claims claims;
+
+    public boolean isExpired() {
+        return expiration.before(new Date());
+    }
+}
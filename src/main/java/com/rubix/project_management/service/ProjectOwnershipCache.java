@@ -0,0 +1,107 @@
+package com.rubix.project_management.service;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.rubix.project_management.repository.ProjectRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+// projectId -> owner's user id, for the ownership checks in front of task reads and writes.
+// A project never changes owner, so an entry only goes stale when the project is deleted;
+// evict() runs at the write and again after commit, so a load that read the row before the
+// commit cannot put it back. Other instances keep a deleted project's entry until the TTL runs
+// out, so there its tasks stay readable for up to app.projects.ownership-cache.ttl. Writes are
+// refused at once everywhere: the counters update of every task write checks deleted_at (see
+// TaskCounterService.apply). Missing projects are not cached. Loads run outside the cache's map lock, as in UserDetailsCache.
+@Component
+public class ProjectOwnershipCache {
+
+    private final ProjectRepository projectRepository;
+    private final AsyncCache<Long, Long> cache;
+
+    public ProjectOwnershipCache(ProjectRepository projectRepository,
+                                 @Value("${app.projects.ownership-cache.maximum-size:100000}") long maximumSize,
+                                 @Value("${app.projects.ownership-cache.ttl:10m}") Duration ttl) {
+        this.projectRepository = projectRepository;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .buildAsync();
+    }
+
+    public boolean isOwner(Long projectId, Long userId) {
+        return userId.equals(getOwnerId(projectId));
+    }
+
+    // The owner's user id, or null if the project does not exist or is deleted
+    public Long getOwnerId(Long projectId) {
+        CompletableFuture<Long> created = new CompletableFuture<>();
+        CompletableFuture<Long> future = cache.get(projectId, (key, executor) -> created);
+        if (future == created) {
+            try {
+                created.complete(projectRepository.findOwnerIdById(projectId).orElse(null));
+            } catch (RuntimeException e) {
+                created.completeExceptionally(e);
+            }
+        }
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    // A project created in the current transaction; cached once it commits
+    public void put(Long projectId, Long userId) {
+        afterCommit(() -> cache.synchronous().put(projectId, userId));
+    }
+
+    public void evict(Long projectId) {
+        cache.synchronous().invalidate(projectId);
+        afterCommit(() -> cache.synchronous().invalidate(projectId));
+    }
+
+    public void evictAll() {
+        cache.synchronous().invalidateAll();
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    public Map<String, Object> stats() {
+        CacheStats stats = cache.synchronous().stats();
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("size", cache.synchronous().estimatedSize());
+        result.put("hits", stats.hitCount());
+        result.put("misses", stats.missCount());
+        result.put("hitRate", stats.hitRate());
+        result.put("evictions", stats.evictionCount());
+        // Lookups of missing or deleted projects count as load failures
+        result.put("loadFailures", stats.loadFailureCount());
+        result.put("averageLoadMillis", stats.averageLoadPenalty() / 1_000_000.0);
+        return result;
+    }
+}
@@ -0,0 +1,142 @@
+package com.rubix.project_management.service;
+
+import com.rubix.project_management.dto.TaskResponse;
+import com.rubix.project_management.event.TaskChangedEvent;
+import com.rubix.project_management.history.TaskHistoryRecorder;
+import com.rubix.project_management.repository.ProjectRepository;
+import com.rubix.project_management.repository.ProjectTaskCountsRepository;
+import com.rubix.project_management.repository.TaskHistoryRepository;
+import com.rubix.project_management.repository.TaskRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Removes soft-deleted projects in the background: tasks go first in bounded chunks,
+// each chunk in its own short transaction, then the project row itself
+@Slf4j
+@Service
+public class ProjectPurgeService {
+
+    private final ProjectRepository projectRepository;
+    private final TaskRepository taskRepository;
+    private final ProjectTaskCountsRepository countsRepository;
+    private final TaskHistoryRepository historyRepository;
+    private final TaskHistoryRecorder historyRecorder;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transaction;
+    private final int chunkSize;
+
+    private final Counter purgedProjects;
+    private final Counter purgedTasks;
+    // Backlog left after the last run, refreshed by each run rather than counted on every scrape
+    private final AtomicLong pendingProjects = new AtomicLong();
+    private final AtomicLong pendingTasks = new AtomicLong();
+    private volatile LocalDateTime lastRunAt;
+    private volatile long lastRunMillis;
+
+    public ProjectPurgeService(ProjectRepository projectRepository,
+                               TaskRepository taskRepository,
+                               ProjectTaskCountsRepository countsRepository,
+                               TaskHistoryRepository historyRepository,
+                               TaskHistoryRecorder historyRecorder,
+                               ApplicationEventPublisher eventPublisher,
+                               PlatformTransactionManager transactionManager,
+                               MeterRegistry meterRegistry,
+                               @Value("${app.purge.chunk-size:500}") int chunkSize) {
+        this.projectRepository = projectRepository;
+        this.taskRepository = taskRepository;
+        this.countsRepository = countsRepository;
+        this.historyRepository = historyRepository;
+        this.historyRecorder = historyRecorder;
+        this.eventPublisher = eventPublisher;
+        this.transaction = new TransactionTemplate(transactionManager);
+        this.chunkSize = chunkSize;
+        this.purgedProjects = Counter.builder("app.purge.purged.projects")
+                .description("Deleted projects removed by the purge")
+                .register(meterRegistry);
+        this.purgedTasks = Counter.builder("app.purge.purged.tasks")
+                .description("Tasks of deleted projects removed by the purge")
+                .register(meterRegistry);
+        Gauge.builder("app.purge.pending.projects", pendingProjects, AtomicLong::get)
+                .description("Deleted projects waiting for the purge, as of its last run")
+                .register(meterRegistry);
+        Gauge.builder("app.purge.pending.tasks", pendingTasks, AtomicLong::get)
+                .description("Tasks of deleted projects waiting for the purge, as of its last run")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${app.purge.interval:10s}")
+    public void purge() {
+        long started = System.currentTimeMillis();
+        for (Object[] owner : projectRepository.findDeletedProjectOwners()) {
+            Long projectId = ((Number) owner[0]).longValue();
+            Long userId = ((Number) owner[1]).longValue();
+            try {
+                purgeProject(projectId, userId);
+            } catch (RuntimeException e) {
+                log.error("Failed to purge project {}", projectId, e);
+            }
+        }
+        pendingProjects.set(projectRepository.countDeleted());
+        pendingTasks.set(projectRepository.countTasksOfDeleted());
+        lastRunAt = LocalDateTime.now();
+        lastRunMillis = System.currentTimeMillis() - started;
+    }
+
+    private void purgeProject(Long projectId, Long userId) {
+        int deleted;
+        do {
+            deleted = transaction.execute(tx -> purgeChunk(projectId, userId));
+        } while (deleted == chunkSize);
+
+        // Entries of the project's last changes may still be queued; written later, they would
+        // outlive the project's history. The purge's own deletions are not recorded.
+        historyRecorder.flushProject(projectId);
+        transaction.executeWithoutResult(tx -> {
+            countsRepository.deleteByProjectId(projectId);
+            historyRepository.deleteByProjectId(projectId);
+            if (projectRepository.purgeDeleted(projectId) > 0) {
+                purgedProjects.increment();
+            }
+        });
+    }
+
+    private int purgeChunk(Long projectId, Long userId) {
+        List<Long> taskIds = taskRepository.findIdsByProjectId(projectId, Limit.of(chunkSize));
+        if (taskIds.isEmpty()) {
+            return 0;
+        }
+        taskRepository.deleteAllByIdIn(taskIds);
+        for (Long taskId : taskIds) {
+            TaskResponse deleted = new TaskResponse(taskId, null, null, null, null, null, projectId, null, null, null);
+            eventPublisher.publishEvent(TaskChangedEvent.purged(userId, deleted));
+        }
+        purgedTasks.increment(taskIds.size());
+        return taskIds.size();
+    }
+
+    public Map<String, Object> stats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("pendingProjects", projectRepository.countDeleted());
+        stats.put("pendingTasks", projectRepository.countTasksOfDeleted());
+        stats.put("purgedProjects", (long) purgedProjects.count());
+        stats.put("purgedTasks", (long) purgedTasks.count());
+        stats.put("lastRunAt", lastRunAt);
+        stats.put("lastRunMillis", lastRunMillis);
+        return stats;
+    }
+}
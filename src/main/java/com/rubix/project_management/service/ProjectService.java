@@ -1,81 +1,163 @@
 package com.rubix.project_management.service;
 
+import com.rubix.project_management.dto.Cursor;
+import com.rubix.project_management.dto.CursorPage;
+import com.rubix.project_management.dto.ProjectPatch;
 import com.rubix.project_management.dto.ProjectRequest;
 import com.rubix.project_management.dto.ProjectResponse;
+import com.rubix.project_management.dto.ResourceVersion;
 import com.rubix.project_management.entity.Project;
-import com.rubix.project_management.entity.User;
+import com.rubix.project_management.exception.BadRequestException;
+import com.rubix.project_management.exception.PreconditionFailedException;
 import com.rubix.project_management.exception.ResourceNotFoundException;
+import com.rubix.project_management.repository.ProjectListVersion;
 import com.rubix.project_management.repository.ProjectRepository;
+import com.rubix.project_management.repository.RowVersion;
 import com.rubix.project_management.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
 import java.util.List;
-import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 public class ProjectService {
 
+    private static final int MAX_PAGE_SIZE = 500;
+
     private final ProjectRepository projectRepository;
     private final UserRepository userRepository;
+    private final TaskCounterService taskCounterService;
+    private final ProjectOwnershipCache projectOwnershipCache;
+    private final SyncService syncService;
 
     @Transactional
-    public ProjectResponse createProject(String username, ProjectRequest request) {
-        User user = getUserByUsername(username);
-
+    public ProjectResponse createProject(Long userId, ProjectRequest request) {
         Project project = new Project();
         project.setName(request.getName());
         project.setDescription(request.getDescription());
-        project.setUser(user);
+        project.setUser(userRepository.getReferenceById(userId));
 
         Project savedProject = projectRepository.save(project);
+        taskCounterService.initialize(savedProject.getId());
+        projectOwnershipCache.put(savedProject.getId(), userId);
         return mapToResponse(savedProject);
     }
 
     @Transactional(readOnly = true)
-    public List<ProjectResponse> getAllProjects(String username) {
-        User user = getUserByUsername(username);
-        return projectRepository.findByUserId(user.getId())
-                .stream()
-                .map(this::mapToResponse)
-                .collect(Collectors.toList());
+    public List<ProjectResponse> getAllProjects(Long userId) {
+        return projectRepository.findByUserId(userId);
+    }
+
+    @Transactional(readOnly = true)
+    public CursorPage<ProjectResponse> getProjectsPage(Long userId, int limit, String after) {
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            throw new BadRequestException("limit must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        long afterId = 0L;
+        if (after != null) {
+            Cursor cursor = Cursor.decode(after);
+            if (!"id".equals(cursor.getSortBy())) {
+                throw new BadRequestException("Invalid cursor");
+            }
+            afterId = cursor.getId();
+        }
+
+        List<ProjectResponse> items = projectRepository.findByUserIdAndIdGreaterThanOrderByIdAsc(
+                userId, afterId, Limit.of(limit + 1));
+
+        String nextCursor = null;
+        if (items.size() > limit) {
+            items = items.subList(0, limit);
+            nextCursor = new Cursor("id", items.get(limit - 1).getId(), null).encode();
+        }
+        return new CursorPage<>(items, nextCursor);
+    }
+
+    // Changes with every create, update and delete of the user's projects. No last-modified
+    // time: a deletion would not move the newest updatedAt.
+    @Transactional(readOnly = true)
+    public ResourceVersion getProjectListVersion(Long userId) {
+        ProjectListVersion version = projectRepository.findListVersionByUserId(userId);
+        String tag = "projects-" + version.getCount();
+        if (version.getMaxId() != null) {
+            tag += "-" + version.getMaxId() + "-" + ResourceVersion.epochMicros(version.getMaxUpdatedAt());
+        }
+        return ResourceVersion.weak(tag, null);
     }
 
     @Transactional(readOnly = true)
-    public ProjectResponse getProjectById(String username, Long projectId) {
-        User user = getUserByUsername(username);
-        Project project = projectRepository.findByIdAndUserId(projectId, user.getId())
+    public ResourceVersion getProjectVersion(Long userId, Long projectId) {
+        return projectRepository.findVersionByIdAndUserId(projectId, userId)
+                .map(version -> ResourceVersion.of(projectId, version.getVersion(), version.getUpdatedAt()))
+                .orElseThrow(() -> new ResourceNotFoundException("Project not found"));
+    }
+
+    @Transactional(readOnly = true)
+    public ProjectResponse getProjectById(Long userId, Long projectId) {
+        Project project = projectRepository.findByIdAndUserId(projectId, userId)
                 .orElseThrow(() -> new ResourceNotFoundException("Project not found"));
         return mapToResponse(project);
     }
 
     @Transactional
-    public ProjectResponse updateProject(String username, Long projectId, ProjectRequest request) {
-        User user = getUserByUsername(username);
-        Project project = projectRepository.findByIdAndUserId(projectId, user.getId())
+    public ProjectResponse updateProject(Long userId, Long projectId, ProjectRequest request) {
+        Project project = projectRepository.findByIdAndUserId(projectId, userId)
                 .orElseThrow(() -> new ResourceNotFoundException("Project not found"));
 
         project.setName(request.getName());
         project.setDescription(request.getDescription());
+        projectOwnershipCache.evict(projectId);
 
-        Project updatedProject = projectRepository.save(project);
+        // Flushed so the response carries the bumped version
+        Project updatedProject = projectRepository.saveAndFlush(project);
         return mapToResponse(updatedProject);
     }
 
+    // One UPDATE of the patched fields, without a prior SELECT; see TaskService.patchTask
     @Transactional
-    public void deleteProject(String username, Long projectId) {
-        User user = getUserByUsername(username);
-        Project project = projectRepository.findByIdAndUserId(projectId, user.getId())
-                .orElseThrow(() -> new ResourceNotFoundException("Project not found"));
-
-        projectRepository.delete(project);
+    public ResourceVersion patchProject(Long userId, Long projectId, ProjectPatch patch, Long expectedVersion) {
+        if (patch.has("name") && (patch.getName() == null || patch.getName().isBlank())) {
+            throw new BadRequestException("Project name is required");
+        }
+        if (patch.getFields().isEmpty()) {
+            RowVersion current = projectRepository.findVersionByIdAndUserId(projectId, userId)
+                    .orElseThrow(() -> new ResourceNotFoundException("Project not found"));
+            if (expectedVersion != null && !expectedVersion.equals(current.getVersion())) {
+                throw new PreconditionFailedException("Project has been modified");
+            }
+            return ResourceVersion.of(projectId, current.getVersion(), current.getUpdatedAt());
+        }
+
+        projectOwnershipCache.evict(projectId);
+        LocalDateTime now = LocalDateTime.now();
+        if (projectRepository.patch(projectId, userId, patch, expectedVersion, now) == 0) {
+            projectRepository.findVersionByIdAndUserId(projectId, userId)
+                    .orElseThrow(() -> new ResourceNotFoundException("Project not found"));
+            throw new PreconditionFailedException("Project has been modified");
+        }
+        if (expectedVersion == null) {
+            // The response carries the new ETag; the row is locked by the UPDATE above, so this
+            // reads the version it wrote
+            RowVersion written = projectRepository.findVersionByIdAndUserId(projectId, userId)
+                    .orElseThrow(() -> new ResourceNotFoundException("Project not found"));
+            return ResourceVersion.of(projectId, written.getVersion(), written.getUpdatedAt());
+        }
+        return ResourceVersion.of(projectId, expectedVersion + 1, now);
     }
 
-    private User getUserByUsername(String username) {
-        return userRepository.findByUsername(username)
-                .orElseThrow(() -> new ResourceNotFoundException("User not found"));
+    @Transactional
+    public void deleteProject(Long userId, Long projectId) {
+        LocalDateTime now = LocalDateTime.now();
+        if (projectRepository.softDelete(projectId, userId, now) == 0) {
+            throw new ResourceNotFoundException("Project not found");
+        }
+        // Stands for the project's tasks too: the purge removes them without tombstones
+        syncService.recordProjectDeleted(userId, projectId, now);
+        projectOwnershipCache.evict(projectId);
     }
 
     private ProjectResponse mapToResponse(Project project) {
@@ -84,7 +166,8 @@ public class ProjectService {
                 project.getName(),
                 project.getDescription(),
                 project.getCreatedAt(),
-                project.getUpdatedAt()
+                project.getUpdatedAt(),
+                project.getVersion()
         );
     }
 }
\ No newline at end of file
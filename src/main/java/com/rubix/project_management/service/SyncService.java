@@ -0,0 +1,146 @@
+package com.rubix.project_management.service;
+
+import com.rubix.project_management.datasource.PrimaryReads;
+import com.rubix.project_management.dto.ProjectResponse;
+import com.rubix.project_management.dto.SyncResponse;
+import com.rubix.project_management.dto.SyncWatermark;
+import com.rubix.project_management.dto.TaskResponse;
+import com.rubix.project_management.entity.SyncTombstone;
+import com.rubix.project_management.enums.SyncEntityType;
+import com.rubix.project_management.exception.BadRequestException;
+import com.rubix.project_management.repository.ProjectRepository;
+import com.rubix.project_management.repository.SyncTombstoneRepository;
+import com.rubix.project_management.repository.TaskRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+// Incremental sync. updatedAt is set before commit, so a change can become visible after a
+// later updatedAt was already handed out. The watermark therefore never passes the start of the
+// oldest read-write transaction still open on this instance, however long it runs. It also
+// trails the clock by app.sync.commit-window, which covers transactions of other instances and
+// clock skew between them. Changes behind the watermark are sent again on the next sync, and
+// clients upsert by id and version. Both bounds hold for the primary only, so sync reads from the
+// primary even with replica routing on: a lagging replica could miss rows older than the watermark.
+// Replica lag is not measured, so it cannot be added to the window instead.
+@Slf4j
+@Service
+public class SyncService {
+
+    private static final int MAX_PAGE_SIZE = 1000;
+
+    private final TaskRepository taskRepository;
+    private final ProjectRepository projectRepository;
+    private final SyncTombstoneRepository tombstoneRepository;
+    private final WriteTransactionTracker writeTransactions;
+    private final Duration commitWindow;
+    private final Duration tombstoneRetention;
+
+    public SyncService(TaskRepository taskRepository,
+                       ProjectRepository projectRepository,
+                       SyncTombstoneRepository tombstoneRepository,
+                       WriteTransactionTracker writeTransactions,
+                       @Value("${app.sync.commit-window:10s}") Duration commitWindow,
+                       @Value("${app.sync.tombstone-retention:30d}") Duration tombstoneRetention) {
+        this.taskRepository = taskRepository;
+        this.projectRepository = projectRepository;
+        this.tombstoneRepository = tombstoneRepository;
+        this.writeTransactions = writeTransactions;
+        this.commitWindow = commitWindow;
+        this.tombstoneRetention = tombstoneRetention;
+    }
+
+    // Projects and tombstones come with the first page of a sync, tasks are paged in
+    // (updatedAt, id) order. Later pages carry the first page's floor, so the watermark of the
+    // last page still covers everything that changed while the client was paging.
+    @Transactional(readOnly = true)
+    public SyncResponse sync(Long userId, String watermark, int limit) {
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            throw new BadRequestException("limit must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        return PrimaryReads.call(() -> page(userId, watermark, limit));
+    }
+
+    private SyncResponse page(Long userId, String watermark, int limit) {
+        LocalDateTime now = LocalDateTime.now();
+        SyncWatermark from = watermark == null ? SyncWatermark.ORIGIN : SyncWatermark.decode(watermark);
+        boolean firstPage = from.getFloor() == null;
+        boolean initial = from == SyncWatermark.ORIGIN;
+        boolean reset = false;
+        if (firstPage && !initial && from.getSince().isBefore(now.minus(tombstoneRetention))) {
+            // Deletions this old are gone: start over
+            from = SyncWatermark.ORIGIN;
+            initial = true;
+            reset = true;
+        }
+        LocalDateTime floor = firstPage ? safeWatermark(now) : from.getFloor();
+
+        List<ProjectResponse> projects = List.of();
+        List<Long> deletedProjectIds = new ArrayList<>();
+        List<Long> deletedTaskIds = new ArrayList<>();
+        if (firstPage) {
+            projects = projectRepository.findChangedSince(userId, from.getSince());
+            if (!initial) {
+                for (SyncTombstone tombstone : tombstoneRepository.findByUserIdDeletedSince(userId, from.getSince())) {
+                    (tombstone.getEntityType() == SyncEntityType.PROJECT ? deletedProjectIds : deletedTaskIds)
+                            .add(tombstone.getEntityId());
+                }
+            }
+        }
+
+        List<TaskResponse> tasks = taskRepository.findChangedSince(
+                userId, from.getSince(), from.getAfterId(), Limit.of(limit + 1));
+        boolean hasMore = tasks.size() > limit;
+        SyncWatermark next;
+        if (hasMore) {
+            tasks = tasks.subList(0, limit);
+            TaskResponse last = tasks.get(limit - 1);
+            next = new SyncWatermark(last.getUpdatedAt(), last.getId(), floor);
+        } else {
+            next = new SyncWatermark(floor, 0L, null);
+        }
+        return new SyncResponse(projects, tasks, deletedProjectIds, deletedTaskIds,
+                next.encode(), hasMore, reset);
+    }
+
+    // Read after now was taken: a write transaction starting later only writes later timestamps
+    private LocalDateTime safeWatermark(LocalDateTime now) {
+        LocalDateTime floor = now.minus(commitWindow);
+        LocalDateTime oldestOpenWrite = writeTransactions.oldestStart();
+        return oldestOpenWrite != null && oldestOpenWrite.isBefore(floor) ? oldestOpenWrite : floor;
+    }
+
+    public void recordTaskDeleted(Long userId, Long taskId, LocalDateTime deletedAt) {
+        tombstoneRepository.save(new SyncTombstone(SyncEntityType.TASK, taskId, userId, deletedAt));
+    }
+
+    public void recordTasksDeleted(Long userId, List<Long> taskIds, LocalDateTime deletedAt) {
+        if (!taskIds.isEmpty()) {
+            tombstoneRepository.saveAll(taskIds.stream()
+                    .map(id -> new SyncTombstone(SyncEntityType.TASK, id, userId, deletedAt))
+                    .toList());
+        }
+    }
+
+    public void recordProjectDeleted(Long userId, Long projectId, LocalDateTime deletedAt) {
+        tombstoneRepository.save(new SyncTombstone(SyncEntityType.PROJECT, projectId, userId, deletedAt));
+    }
+
+    // Watermarks older than the retention get a reset instead
+    @Scheduled(fixedDelayString = "${app.sync.cleanup-interval:1h}")
+    @Transactional
+    public void expireTombstones() {
+        int removed = tombstoneRepository.deleteOlderThan(LocalDateTime.now().minus(tombstoneRetention));
+        if (removed > 0) {
+            log.info("Removed {} expired sync tombstones", removed);
+        }
+    }
+}
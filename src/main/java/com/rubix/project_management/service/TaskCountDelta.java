@@ -0,0 +1,44 @@
+package com.rubix.project_management.service;
+
+import com.rubix.project_management.enums.Priority;
+import com.rubix.project_management.enums.Status;
+import lombok.Getter;
+
+// Net change to a project's task counters, accumulated over one or more task writes
+@Getter
+public class TaskCountDelta {
+    private long total;
+    private long pending;
+    private long inProgress;
+    private long completed;
+    private long low;
+    private long medium;
+    private long high;
+
+    public TaskCountDelta add(Status status, Priority priority) {
+        return apply(status, priority, 1);
+    }
+
+    public TaskCountDelta remove(Status status, Priority priority) {
+        return apply(status, priority, -1);
+    }
+
+    public TaskCountDelta change(Status oldStatus, Priority oldPriority, Status newStatus, Priority newPriority) {
+        return remove(oldStatus, oldPriority).add(newStatus, newPriority);
+    }
+
+    private TaskCountDelta apply(Status status, Priority priority, long sign) {
+        total += sign;
+        switch (status) {
+            case PENDING -> pending += sign;
+            case IN_PROGRESS -> inProgress += sign;
+            case COMPLETED -> completed += sign;
+        }
+        switch (priority) {
+            case LOW -> low += sign;
+            case MEDIUM -> medium += sign;
+            case HIGH -> high += sign;
+        }
+        return this;
+    }
+}
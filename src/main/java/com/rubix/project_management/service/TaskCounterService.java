@@ -0,0 +1,186 @@
+package com.rubix.project_management.service;
+
+import com.rubix.project_management.dto.CounterReconciliationReport;
+import com.rubix.project_management.dto.ProjectSummaryResponse;
+import com.rubix.project_management.dto.ResourceVersion;
+import com.rubix.project_management.entity.ProjectTaskCounts;
+import com.rubix.project_management.enums.Priority;
+import com.rubix.project_management.enums.Status;
+import com.rubix.project_management.exception.ResourceNotFoundException;
+import com.rubix.project_management.repository.ProjectRepository;
+import com.rubix.project_management.repository.ProjectTaskCountsRepository;
+import jakarta.persistence.EntityManager;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.*;
+
+// Keeps project_task_counts in step with the tasks table. Writers call apply() inside
+// their own transaction after the task row has been written; reconcile() recounts
+// and repairs drift, locking each counters row so in-flight deltas are not lost.
+@Slf4j
+@Service
+public class TaskCounterService {
+
+    private final ProjectTaskCountsRepository countsRepository;
+    private final ProjectRepository projectRepository;
+    private final EntityManager entityManager;
+    private final TransactionTemplate transaction;
+
+    public TaskCounterService(ProjectTaskCountsRepository countsRepository,
+                              ProjectRepository projectRepository,
+                              EntityManager entityManager,
+                              PlatformTransactionManager transactionManager) {
+        this.countsRepository = countsRepository;
+        this.projectRepository = projectRepository;
+        this.entityManager = entityManager;
+        this.transaction = new TransactionTemplate(transactionManager);
+    }
+
+    public void initialize(Long projectId) {
+        ProjectTaskCounts counts = new ProjectTaskCounts(projectId);
+        counts.setModifiedAt(LocalDateTime.now());
+        entityManager.persist(counts);
+    }
+
+    // Runs for every task write, even with an empty delta, so the task list version moves. The
+    // update only applies to a live project, which keeps a write out of a project deleted on
+    // another instance whose ProjectOwnershipCache has not expired yet: it fails and rolls back.
+    public void apply(Long projectId, TaskCountDelta delta) {
+        int updated = countsRepository.addDelta(projectId, delta.getTotal(),
+                delta.getPending(), delta.getInProgress(), delta.getCompleted(),
+                delta.getLow(), delta.getMedium(), delta.getHigh(), LocalDateTime.now());
+        if (updated == 0) {
+            if (projectRepository.findOwnerIdById(projectId).isEmpty()) {
+                throw new ResourceNotFoundException("Project not found");
+            }
+            log.warn("No task counters for project {}; leaving it to reconciliation", projectId);
+        }
+    }
+
+    // Version of a project's task list, null if the project is not the user's (or has no counters
+    // row yet, until reconciliation creates it); callers then fall back to an unconditional response
+    @Transactional(readOnly = true)
+    public ResourceVersion getTaskListVersion(Long userId, Long projectId) {
+        return countsRepository.findTaskListVersion(projectId, userId)
+                .map(version -> ResourceVersion.weak(
+                        "tasks-" + projectId + "-" + version.getVersion(), version.getModifiedAt()))
+                .orElse(null);
+    }
+
+    @Transactional(readOnly = true)
+    public List<ProjectSummaryResponse> getSummaries(Long userId) {
+        Map<Long, Long> overdue = new HashMap<>();
+        for (Object[] row : countsRepository.countOverdueByUserId(userId, LocalDate.now(), Status.COMPLETED)) {
+            overdue.put((Long) row[0], (Long) row[1]);
+        }
+
+        List<ProjectSummaryResponse> summaries = new ArrayList<>();
+        for (Object[] row : countsRepository.findSummariesByUserId(userId)) {
+            Long projectId = (Long) row[0];
+            ProjectTaskCounts counts = (ProjectTaskCounts) row[2];
+            Map<Status, Long> byStatus = new EnumMap<>(Status.class);
+            byStatus.put(Status.PENDING, counts.getPending());
+            byStatus.put(Status.IN_PROGRESS, counts.getInProgress());
+            byStatus.put(Status.COMPLETED, counts.getCompleted());
+            Map<Priority, Long> byPriority = new EnumMap<>(Priority.class);
+            byPriority.put(Priority.LOW, counts.getLowPriority());
+            byPriority.put(Priority.MEDIUM, counts.getMediumPriority());
+            byPriority.put(Priority.HIGH, counts.getHighPriority());
+            summaries.add(new ProjectSummaryResponse(projectId, (String) row[1], counts.getTotal(),
+                    byStatus, byPriority, overdue.getOrDefault(projectId, 0L)));
+        }
+        return summaries;
+    }
+
+    @Scheduled(initialDelayString = "${app.counters.reconcile-initial-delay:30s}",
+            fixedDelayString = "${app.counters.reconcile-interval:1h}")
+    public CounterReconciliationReport reconcile() {
+        Map<Long, ProjectTaskCounts> actual = new HashMap<>();
+        Map<Long, ProjectTaskCounts> stored = new HashMap<>();
+        List<Long> projectIds = transaction.execute(tx -> {
+            for (Object[] row : countsRepository.countAllTasksGrouped()) {
+                Long projectId = (Long) row[0];
+                add(actual.computeIfAbsent(projectId, ProjectTaskCounts::new),
+                        (Status) row[1], (Priority) row[2], (Long) row[3]);
+            }
+            countsRepository.findAll().forEach(counts -> stored.put(counts.getProjectId(), counts));
+            return projectRepository.findAllIds();
+        });
+
+        CounterReconciliationReport report = new CounterReconciliationReport();
+        report.setProjectsChecked(projectIds.size());
+        for (Long projectId : projectIds) {
+            ProjectTaskCounts expected = actual.getOrDefault(projectId, new ProjectTaskCounts(projectId));
+            ProjectTaskCounts current = stored.get(projectId);
+            if (current != null && drift(current, expected) == 0) {
+                continue;
+            }
+            // Re-check under the row lock before repairing; the first pass ran without locks
+            Long drift = transaction.execute(tx -> repair(projectId));
+            if (drift != null && drift > 0) {
+                report.addDrift(projectId, drift);
+            }
+        }
+        if (report.getProjectsDrifted() > 0) {
+            log.warn("Task counters drifted for {} projects (absolute drift {}): {}",
+                    report.getProjectsDrifted(), report.getAbsoluteDrift(), report.getDriftedProjectIds());
+        }
+        return report;
+    }
+
+    private long repair(Long projectId) {
+        Optional<ProjectTaskCounts> locked = countsRepository.findForUpdate(projectId);
+        ProjectTaskCounts expected = new ProjectTaskCounts(projectId);
+        for (Object[] row : countsRepository.countTasksGrouped(projectId)) {
+            add(expected, (Status) row[0], (Priority) row[1], (Long) row[2]);
+        }
+        if (locked.isEmpty()) {
+            expected.setModifiedAt(LocalDateTime.now());
+            entityManager.persist(expected);
+            return drift(new ProjectTaskCounts(projectId), expected);
+        }
+        ProjectTaskCounts current = locked.get();
+        long drift = drift(current, expected);
+        if (drift > 0) {
+            current.setTotal(expected.getTotal());
+            current.setPending(expected.getPending());
+            current.setInProgress(expected.getInProgress());
+            current.setCompleted(expected.getCompleted());
+            current.setLowPriority(expected.getLowPriority());
+            current.setMediumPriority(expected.getMediumPriority());
+            current.setHighPriority(expected.getHighPriority());
+        }
+        return drift;
+    }
+
+    private static void add(ProjectTaskCounts counts, Status status, Priority priority, long count) {
+        counts.setTotal(counts.getTotal() + count);
+        switch (status) {
+            case PENDING -> counts.setPending(counts.getPending() + count);
+            case IN_PROGRESS -> counts.setInProgress(counts.getInProgress() + count);
+            case COMPLETED -> counts.setCompleted(counts.getCompleted() + count);
+        }
+        switch (priority) {
+            case LOW -> counts.setLowPriority(counts.getLowPriority() + count);
+            case MEDIUM -> counts.setMediumPriority(counts.getMediumPriority() + count);
+            case HIGH -> counts.setHighPriority(counts.getHighPriority() + count);
+        }
+    }
+
+    private static long drift(ProjectTaskCounts a, ProjectTaskCounts b) {
+        return Math.abs(a.getTotal() - b.getTotal())
+                + Math.abs(a.getPending() - b.getPending())
+                + Math.abs(a.getInProgress() - b.getInProgress())
+                + Math.abs(a.getCompleted() - b.getCompleted())
+                + Math.abs(a.getLowPriority() - b.getLowPriority())
+                + Math.abs(a.getMediumPriority() - b.getMediumPriority())
+                + Math.abs(a.getHighPriority() - b.getHighPriority());
+    }
+}
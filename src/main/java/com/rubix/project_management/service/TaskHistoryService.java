@@ -0,0 +1,63 @@
+package com.rubix.project_management.service;
+
+import com.rubix.project_management.dto.TaskHistoryResponse;
+import com.rubix.project_management.entity.TaskHistoryEntry;
+import com.rubix.project_management.enums.TaskField;
+import com.rubix.project_management.exception.BadRequestException;
+import com.rubix.project_management.exception.ResourceNotFoundException;
+import com.rubix.project_management.history.ReplayedTask;
+import com.rubix.project_management.repository.TaskHistoryRepository;
+import com.rubix.project_management.repository.TaskRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+@Service
+@RequiredArgsConstructor
+public class TaskHistoryService {
+
+    private static final int MAX_ENTRIES = 500;
+
+    private final TaskHistoryRepository historyRepository;
+    private final TaskRepository taskRepository;
+    private final ProjectOwnershipCache projectOwnershipCache;
+
+    // The latest entries, newest first, each with the task as it was after the change. Reads the
+    // entries asked for and, unless the oldest is a snapshot, those back to the snapshot before it.
+    // Deleted tasks keep their history while the project exists.
+    @Transactional(readOnly = true)
+    public List<TaskHistoryResponse> getTaskHistory(Long userId, Long projectId, Long taskId, int limit) {
+        if (limit < 1 || limit > MAX_ENTRIES) {
+            throw new BadRequestException("limit must be between 1 and " + MAX_ENTRIES);
+        }
+        if (!projectOwnershipCache.isOwner(projectId, userId)) {
+            throw new ResourceNotFoundException("Project not found");
+        }
+        List<TaskHistoryEntry> latest = historyRepository.findLatest(taskId, projectId, Limit.of(limit));
+        if (latest.isEmpty()) {
+            // Created moments ago: its first entry is still queued
+            taskRepository.findOwnedTaskVersion(taskId, projectId, userId)
+                    .orElseThrow(() -> new ResourceNotFoundException("Task not found"));
+            return List.of();
+        }
+
+        ReplayedTask task = new ReplayedTask();
+        TaskHistoryEntry oldest = latest.get(latest.size() - 1);
+        if (!oldest.isSnapshot()) {
+            historyRepository.findBase(taskId, oldest.getId()).forEach(task::apply);
+        }
+        List<TaskHistoryResponse> history = new ArrayList<>(latest.size());
+        for (TaskHistoryEntry entry : latest.reversed()) {
+            task.apply(entry);
+            history.add(new TaskHistoryResponse(entry.getChangeType(), entry.getChangedAt(), entry.getUserId(),
+                    TaskField.properties(entry.getChangedFields()), task.toResponse(entry)));
+        }
+        Collections.reverse(history);
+        return history;
+    }
+}
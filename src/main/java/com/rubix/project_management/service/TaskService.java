@@ -1,140 +1,514 @@
 package com.rubix.project_management.service;
 
+import com.rubix.project_management.dto.Cursor;
+import com.rubix.project_management.dto.CursorPage;
+import com.rubix.project_management.dto.ResourceVersion;
+import com.rubix.project_management.dto.TaskBatchOperation;
+import com.rubix.project_management.dto.TaskBatchResult;
+import com.rubix.project_management.dto.TaskPatch;
 import com.rubix.project_management.dto.TaskRequest;
 import com.rubix.project_management.dto.TaskResponse;
 import com.rubix.project_management.entity.Project;
 import com.rubix.project_management.entity.Task;
-import com.rubix.project_management.entity.User;
+import com.rubix.project_management.enums.BatchOperationType;
+import com.rubix.project_management.enums.ChangeType;
 import com.rubix.project_management.enums.Priority;
 import com.rubix.project_management.enums.Status;
+import com.rubix.project_management.enums.TaskSortField;
+import com.rubix.project_management.event.TaskChangedEvent;
+import com.rubix.project_management.exception.BadRequestException;
+import com.rubix.project_management.exception.ConflictException;
+import com.rubix.project_management.exception.PreconditionFailedException;
 import com.rubix.project_management.exception.ResourceNotFoundException;
 import com.rubix.project_management.repository.ProjectRepository;
+import com.rubix.project_management.repository.RowVersion;
 import com.rubix.project_management.repository.TaskRepository;
-import com.rubix.project_management.repository.UserRepository;
+import com.rubix.project_management.repository.TaskState;
+import com.rubix.project_management.search.TaskSearchIndex;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
 public class TaskService {
 
+    private static final int MAX_PAGE_SIZE = 500;
+    private static final int MAX_WRITE_ATTEMPTS = 3;
+
     private final TaskRepository taskRepository;
     private final ProjectRepository projectRepository;
-    private final UserRepository userRepository;
+    private final TaskSearchIndex taskSearchIndex;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TaskCounterService taskCounterService;
+    private final ProjectOwnershipCache projectOwnershipCache;
+    private final SyncService syncService;
+    private final Validator validator;
 
     @Transactional
-    public TaskResponse createTask(String username, Long projectId, TaskRequest request) {
-        User user = getUserByUsername(username);
-        Project project = projectRepository.findByIdAndUserId(projectId, user.getId())
-                .orElseThrow(() -> new ResourceNotFoundException("Project not found"));
+    public TaskResponse createTask(Long userId, Long projectId, TaskRequest request) {
+        checkProjectOwner(userId, projectId);
 
         Task task = new Task();
-        task.setTitle(request.getTitle());
-        task.setDescription(request.getDescription());
-        task.setStatus(request.getStatus());
-        task.setPriority(request.getPriority());
-        task.setDueDate(request.getDueDate());
-        task.setProject(project);
+        copyFields(request, task);
+        task.setProject(projectRepository.getReferenceById(projectId));
 
         Task savedTask = taskRepository.save(task);
-        return mapToResponse(savedTask);
+        taskCounterService.apply(projectId, new TaskCountDelta().add(task.getStatus(), task.getPriority()));
+        TaskResponse response = mapToResponse(savedTask);
+        eventPublisher.publishEvent(new TaskChangedEvent(ChangeType.CREATED, userId, response));
+        return response;
     }
 
     @Transactional(readOnly = true)
-    public List<TaskResponse> getAllTasks(String username, Long projectId,
+    public List<TaskResponse> getAllTasks(Long userId, Long projectId,
                                           Status status, Priority priority,
                                           String sortBy) {
-        User user = getUserByUsername(username);
-        projectRepository.findByIdAndUserId(projectId, user.getId())
-                .orElseThrow(() -> new ResourceNotFoundException("Project not found"));
+        checkProjectOwner(userId, projectId);
 
         Sort sort = Sort.unsorted();
         if (sortBy != null) {
             sort = Sort.by(Sort.Direction.ASC, sortBy);
         }
 
-        List<Task> tasks;
         if (status != null || priority != null) {
-            tasks = taskRepository.findByProjectIdWithFilters(projectId, status, priority, sort);
-        } else {
-            tasks = taskRepository.findByProjectId(projectId, sort);
+            return taskRepository.findByProjectIdWithFilters(projectId, status, priority, sort);
         }
-
-        return tasks.stream()
-                .map(this::mapToResponse)
-                .collect(Collectors.toList());
+        return taskRepository.findResponsesByProjectId(projectId, sort);
     }
 
     @Transactional(readOnly = true)
-    public List<TaskResponse> searchTasks(String username, String query, String sortBy) {
-        User user = getUserByUsername(username);
+    public CursorPage<TaskResponse> getTasksPage(Long userId, Long projectId,
+                                                 Status status, Priority priority,
+                                                 String sortBy, int limit, String after) {
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            throw new BadRequestException("limit must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        checkProjectOwner(userId, projectId);
 
+        TaskSortField sortField = TaskSortField.from(sortBy);
+        Cursor cursor = null;
+        if (after != null) {
+            cursor = Cursor.decode(after);
+            if (!sortField.getProperty().equals(cursor.getSortBy())) {
+                throw new BadRequestException("Cursor does not match sortBy");
+            }
+        }
+
+        // Fetch one extra row to know whether another page exists
+        List<TaskResponse> items = taskRepository.findPageByProjectId(
+                projectId, status, priority, sortField, cursor, limit + 1);
+
+        String nextCursor = null;
+        if (items.size() > limit) {
+            items = items.subList(0, limit);
+            TaskResponse last = items.get(limit - 1);
+            Object value = sortField.getExtractor().apply(last);
+            nextCursor = new Cursor(sortField.getProperty(), last.getId(),
+                    value == null ? null : value.toString()).encode();
+        }
+        return new CursorPage<>(items, nextCursor);
+    }
+
+    // Every match in relevance order or sorted by sortBy; with a limit, only the first limit of them.
+    // In relevance order only that many ids are ranked and loaded, however many tasks match.
+    @Transactional(readOnly = true)
+    public List<TaskResponse> searchTasks(Long userId, String query, String sortBy, Integer limit) {
+        if (limit != null && (limit < 1 || limit > MAX_PAGE_SIZE)) {
+            throw new BadRequestException("limit must be between 1 and " + MAX_PAGE_SIZE);
+        }
         Sort sort = Sort.unsorted();
         if (sortBy != null) {
             sort = Sort.by(Sort.Direction.ASC, sortBy);
         }
+        Limit rows = limit == null ? Limit.unlimited() : Limit.of(limit);
 
-        List<Task> tasks = taskRepository.searchTasksByUser(user.getId(), query, sort);
-
-        return tasks.stream()
-                .map(this::mapToResponse)
+        // sortBy orders all matches, so the best ranked ones are not enough to pick the first page
+        List<Long> rankedIds = taskSearchIndex.search(userId, query,
+                limit == null || sortBy != null ? Integer.MAX_VALUE : limit);
+        if (rankedIds == null) {
+            return taskRepository.searchTasksByUser(userId, query, sort, rows);
+        } else if (rankedIds.isEmpty()) {
+            return List.of();
+        } else if (sortBy != null) {
+            return taskRepository.findByIdInAndUserId(rankedIds, userId, sort, rows);
+        }
+        Map<Long, TaskResponse> byId = taskRepository.findByIdInAndUserId(rankedIds, userId, sort, Limit.unlimited())
+                .stream()
+                .collect(Collectors.toMap(TaskResponse::getId, Function.identity()));
+        return rankedIds.stream()
+                .map(byId::get)
+                .filter(task -> task != null)
                 .collect(Collectors.toList());
     }
 
+    // Streams rows off a JDBC cursor as unmanaged DTOs, so nothing accumulates in the
+    // persistence context and memory stays flat regardless of how many tasks the user has
     @Transactional(readOnly = true)
-    public TaskResponse getTaskById(String username, Long projectId, Long taskId) {
-        User user = getUserByUsername(username);
-        projectRepository.findByIdAndUserId(projectId, user.getId())
-                .orElseThrow(() -> new ResourceNotFoundException("Project not found"));
+    public long exportTasks(Long userId, Status status, Priority priority,
+                            LocalDateTime updatedSince, Consumer<TaskResponse> sink) {
+        long count = 0;
+        try (Stream<TaskResponse> tasks = taskRepository.streamAllByUserId(
+                userId, status, priority, updatedSince)) {
+            for (TaskResponse task : (Iterable<TaskResponse>) tasks::iterator) {
+                sink.accept(task);
+                count++;
+            }
+        }
+        return count;
+    }
+
+    @Transactional(readOnly = true)
+    public ResourceVersion getTaskVersion(Long userId, Long projectId, Long taskId) {
+        return taskRepository.findOwnedTaskVersion(taskId, projectId, userId)
+                .map(version -> ResourceVersion.of(taskId, version.getVersion(), version.getUpdatedAt()))
+                .orElseThrow(() -> taskNotFound(userId, projectId));
+    }
 
-        Task task = taskRepository.findByIdAndProjectId(taskId, projectId)
-                .orElseThrow(() -> new ResourceNotFoundException("Task not found"));
+    @Transactional(readOnly = true)
+    public TaskResponse getTaskById(Long userId, Long projectId, Long taskId) {
+        Task task = taskRepository.findOwnedTask(taskId, projectId, userId)
+                .orElseThrow(() -> taskNotFound(userId, projectId));
 
         return mapToResponse(task);
     }
 
+    // With expectedVersion (from If-Match) the write fails with 412 unless it applies to that version
+    @Transactional
+    public TaskResponse updateTask(Long userId, Long projectId, Long taskId, TaskRequest request, Long expectedVersion) {
+        Task task = taskRepository.findOwnedTask(taskId, projectId, userId)
+                .orElseThrow(() -> taskNotFound(userId, projectId));
+        checkExpectedVersion(expectedVersion, task.getVersion());
+
+        TaskCountDelta delta = new TaskCountDelta().remove(task.getStatus(), task.getPriority());
+        Set<String> changedFields = changedFields(request, task);
+        copyFields(request, task);
+        taskCounterService.apply(projectId, delta.add(task.getStatus(), task.getPriority()));
+
+        // Flushed here so the response carries the bumped version; a concurrent write since the
+        // SELECT fails the version check instead of being overwritten
+        Task updatedTask;
+        try {
+            updatedTask = taskRepository.saveAndFlush(task);
+        } catch (OptimisticLockingFailureException e) {
+            if (expectedVersion != null) {
+                throw new PreconditionFailedException("Task has been modified");
+            }
+            throw e;
+        }
+        TaskResponse response = mapToResponse(updatedTask);
+        eventPublisher.publishEvent(new TaskChangedEvent(ChangeType.UPDATED, userId, response, changedFields));
+        return response;
+    }
+
+    // Writes only the fields present in the patch with one UPDATE and no prior SELECT, unless
+    // status or priority change: then the old values are read for the counters and the UPDATE
+    // is a compare-and-set on the version read. With expectedVersion (from If-Match) the write
+    // fails with 412 if the task is at another version. Returns the new version.
+    @Transactional
+    public ResourceVersion patchTask(Long userId, Long projectId, Long taskId, TaskPatch patch, Long expectedVersion) {
+        if (patch.has("title") && (patch.getTitle() == null || patch.getTitle().isBlank())) {
+            throw new BadRequestException("Task title is required");
+        }
+        if (patch.has("status") && patch.getStatus() == null) {
+            throw new BadRequestException("Status is required");
+        }
+        if (patch.has("priority") && patch.getPriority() == null) {
+            throw new BadRequestException("Priority is required");
+        }
+        if (patch.getFields().isEmpty()) {
+            RowVersion current = taskRepository.findOwnedTaskVersion(taskId, projectId, userId)
+                    .orElseThrow(() -> taskNotFound(userId, projectId));
+            if (expectedVersion != null && !expectedVersion.equals(current.getVersion())) {
+                throw new PreconditionFailedException("Task has been modified");
+            }
+            return ResourceVersion.of(taskId, current.getVersion(), current.getUpdatedAt());
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        TaskCountDelta delta = new TaskCountDelta();
+        Long previousVersion = expectedVersion;
+        if (patch.has("status") || patch.has("priority")) {
+            TaskState state = null;
+            for (int attempt = 0; attempt < MAX_WRITE_ATTEMPTS && state == null; attempt++) {
+                TaskState read = taskRepository.findOwnedTaskState(taskId, projectId, userId)
+                        .orElseThrow(() -> taskNotFound(userId, projectId));
+                if (expectedVersion != null && !expectedVersion.equals(read.getVersion())) {
+                    throw new PreconditionFailedException("Task has been modified");
+                }
+                if (taskRepository.patch(taskId, projectId, userId, patch, read.getVersion(), now) == 1) {
+                    state = read;
+                }
+            }
+            if (state == null) {
+                throw new ConflictException("Task was modified concurrently, please retry");
+            }
+            delta.change(state.getStatus(), state.getPriority(),
+                    patch.has("status") ? patch.getStatus() : state.getStatus(),
+                    patch.has("priority") ? patch.getPriority() : state.getPriority());
+            previousVersion = state.getVersion();
+        } else if (taskRepository.patch(taskId, projectId, userId, patch, expectedVersion, now) == 0) {
+            taskRepository.findOwnedTaskVersion(taskId, projectId, userId)
+                    .orElseThrow(() -> taskNotFound(userId, projectId));
+            throw new PreconditionFailedException("Task has been modified");
+        }
+        // Also bumps the task list version
+        taskCounterService.apply(projectId, delta);
+
+        TaskResponse changed;
+        if (patch.has("title") != patch.has("description")) {
+            // The search index re-tokenizes title and description together
+            changed = taskRepository.findById(taskId).map(TaskService::mapToResponse).orElseThrow();
+        } else {
+            if (previousVersion == null) {
+                // The history orders a task's changes by version, so every event carries it. The
+                // row is locked by the UPDATE above, so this reads the version it wrote.
+                previousVersion = taskRepository.findOwnedTaskVersion(taskId, projectId, userId)
+                        .orElseThrow(() -> taskNotFound(userId, projectId)).getVersion() - 1;
+            }
+            changed = new TaskResponse(taskId, patch.getTitle(), patch.getDescription(), patch.getStatus(),
+                    patch.getPriority(), patch.getDueDate(), projectId, null, now, previousVersion + 1);
+        }
+        eventPublisher.publishEvent(new TaskChangedEvent(ChangeType.UPDATED, userId, changed, patch.getFields()));
+        return ResourceVersion.of(taskId, changed.getVersion(), changed.getUpdatedAt());
+    }
+
+    @Transactional
+    public void updateTaskStatus(Long userId, Long projectId, Long taskId, Status status, Long expectedVersion) {
+        for (int attempt = 0; attempt < MAX_WRITE_ATTEMPTS; attempt++) {
+            TaskState state = taskRepository.findOwnedTaskState(taskId, projectId, userId)
+                    .orElseThrow(() -> taskNotFound(userId, projectId));
+            checkExpectedVersion(expectedVersion, state.getVersion());
+            if (state.getStatus() == status) {
+                return;
+            }
+            LocalDateTime now = LocalDateTime.now();
+            if (taskRepository.compareAndSetStatus(taskId, state.getVersion(), status, now) == 1) {
+                taskCounterService.apply(projectId, new TaskCountDelta()
+                        .change(state.getStatus(), state.getPriority(), status, state.getPriority()));
+                TaskResponse changed = new TaskResponse(taskId, null, null, status, null, null, projectId, null, now,
+                        state.getVersion() + 1);
+                eventPublisher.publishEvent(new TaskChangedEvent(ChangeType.UPDATED, userId, changed, Set.of("status")));
+                return;
+            }
+        }
+        throw new ConflictException("Task was modified concurrently, please retry");
+    }
+
+    @Transactional
+    public void deleteTask(Long userId, Long projectId, Long taskId, Long expectedVersion) {
+        for (int attempt = 0; attempt < MAX_WRITE_ATTEMPTS; attempt++) {
+            TaskState state = taskRepository.findOwnedTaskState(taskId, projectId, userId)
+                    .orElseThrow(() -> taskNotFound(userId, projectId));
+            checkExpectedVersion(expectedVersion, state.getVersion());
+            if (taskRepository.deleteIfUnchanged(taskId, state.getVersion()) == 1) {
+                taskCounterService.apply(projectId, new TaskCountDelta().remove(state.getStatus(), state.getPriority()));
+                syncService.recordTaskDeleted(userId, taskId, LocalDateTime.now());
+                TaskResponse deleted = new TaskResponse(taskId, null, null, null, null, null, projectId, null, null,
+                        state.getVersion() + 1);
+                eventPublisher.publishEvent(new TaskChangedEvent(ChangeType.DELETED, userId, deleted));
+                return;
+            }
+        }
+        throw new ConflictException("Task was modified concurrently, please retry");
+    }
+
+    // Applies the operations in order inside one transaction: ownership is checked once,
+    // all referenced tasks are loaded with one query, and inserts/updates/deletes are
+    // flushed together so Hibernate can send them as JDBC batches.
+    // Invalid operations are reported in their result and skipped; the rest still commit.
     @Transactional
-    public TaskResponse updateTask(String username, Long projectId, Long taskId, TaskRequest request) {
-        User user = getUserByUsername(username);
-        projectRepository.findByIdAndUserId(projectId, user.getId())
-                .orElseThrow(() -> new ResourceNotFoundException("Project not found"));
+    public List<TaskBatchResult> applyBatch(Long userId, Long projectId, List<TaskBatchOperation> operations) {
+        checkProjectOwner(userId, projectId);
+        Project project = projectRepository.getReferenceById(projectId);
+
+        Set<Long> taskIds = new HashSet<>();
+        for (TaskBatchOperation operation : operations) {
+            if (operation != null && operation.getOp() != BatchOperationType.CREATE && operation.getTaskId() != null) {
+                taskIds.add(operation.getTaskId());
+            }
+        }
+        Map<Long, Task> existing = taskIds.isEmpty() ? new HashMap<>()
+                : taskRepository.findByProjectIdAndIdIn(projectId, taskIds).stream()
+                        .collect(Collectors.toMap(Task::getId, Function.identity()));
 
-        Task task = taskRepository.findByIdAndProjectId(taskId, projectId)
-                .orElseThrow(() -> new ResourceNotFoundException("Task not found"));
+        TaskCountDelta delta = new TaskCountDelta();
+        TaskBatchResult[] results = new TaskBatchResult[operations.size()];
+        Task[] written = new Task[operations.size()];
+        List<Set<String>> changedFields = new ArrayList<>(Collections.nCopies(operations.size(), null));
+        List<Task> created = new ArrayList<>();
+        List<Task> deleted = new ArrayList<>();
 
+        for (int i = 0; i < operations.size(); i++) {
+            TaskBatchOperation operation = operations.get(i);
+            if (operation == null) {
+                results[i] = new TaskBatchResult(i, null, null, 400, "operation is required", null);
+                continue;
+            }
+            BatchOperationType op = operation.getOp();
+            String invalid = validate(operation);
+            if (invalid != null) {
+                results[i] = new TaskBatchResult(i, op, operation.getTaskId(), 400, invalid, null);
+                continue;
+            }
+            boolean needsTask = op != BatchOperationType.DELETE;
+            boolean needsId = op != BatchOperationType.CREATE;
+            if (needsTask && operation.getTask() == null) {
+                results[i] = new TaskBatchResult(i, op, operation.getTaskId(), 400, "task is required", null);
+                continue;
+            }
+            if (needsId && operation.getTaskId() == null) {
+                results[i] = new TaskBatchResult(i, op, null, 400, "taskId is required", null);
+                continue;
+            }
+
+            switch (op) {
+                case CREATE -> {
+                    Task task = new Task();
+                    copyFields(operation.getTask(), task);
+                    task.setProject(project);
+                    delta.add(task.getStatus(), task.getPriority());
+                    created.add(task);
+                    written[i] = task;
+                }
+                case UPDATE -> {
+                    Task task = existing.get(operation.getTaskId());
+                    if (task == null) {
+                        results[i] = new TaskBatchResult(i, op, operation.getTaskId(), 404, "Task not found", null);
+                    } else {
+                        delta.remove(task.getStatus(), task.getPriority());
+                        changedFields.set(i, changedFields(operation.getTask(), task));
+                        copyFields(operation.getTask(), task);
+                        delta.add(task.getStatus(), task.getPriority());
+                        written[i] = task;
+                    }
+                }
+                case DELETE -> {
+                    Task task = existing.remove(operation.getTaskId());
+                    if (task == null) {
+                        results[i] = new TaskBatchResult(i, op, operation.getTaskId(), 404, "Task not found", null);
+                    } else {
+                        delta.remove(task.getStatus(), task.getPriority());
+                        deleted.add(task);
+                        results[i] = new TaskBatchResult(i, op, task.getId(), 204, null, null);
+                    }
+                }
+            }
+        }
+
+        taskRepository.saveAll(created);
+        taskRepository.deleteAll(deleted);
+        syncService.recordTasksDeleted(userId, deleted.stream().map(Task::getId).toList(), LocalDateTime.now());
+        taskRepository.flush();
+        taskCounterService.apply(projectId, delta);
+
+        Set<Long> deletedIds = deleted.stream().map(Task::getId).collect(Collectors.toSet());
+        for (int i = 0; i < operations.size(); i++) {
+            if (written[i] != null && deletedIds.contains(written[i].getId())) {
+                // Updated, then deleted by a later operation: there is no task to return or announce
+                results[i] = new TaskBatchResult(i, operations.get(i).getOp(), written[i].getId(), 200,
+                        "Deleted later in this batch", null);
+            } else if (written[i] != null) {
+                TaskResponse response = mapToResponse(written[i]);
+                boolean create = operations.get(i).getOp() == BatchOperationType.CREATE;
+                results[i] = new TaskBatchResult(i, operations.get(i).getOp(), response.getId(),
+                        create ? 201 : 200, null, response);
+                eventPublisher.publishEvent(new TaskChangedEvent(
+                        create ? ChangeType.CREATED : ChangeType.UPDATED, userId, response, changedFields.get(i)));
+            }
+        }
+        for (Task task : deleted) {
+            TaskResponse response = new TaskResponse(task.getId(), null, null, null, null, null, projectId, null, null,
+                    task.getVersion() + 1);
+            eventPublisher.publishEvent(new TaskChangedEvent(ChangeType.DELETED, userId, response));
+        }
+        return List.of(results);
+    }
+
+    // A write compares the version it read; when that was the If-Match version, a miss
+    // re-reads and fails here instead of retrying
+    private static void checkExpectedVersion(Long expectedVersion, Long version) {
+        if (expectedVersion != null && !expectedVersion.equals(version)) {
+            throw new PreconditionFailedException("Task has been modified");
+        }
+    }
+
+    // The operation's constraint violations as one message, or null when it is valid
+    private String validate(TaskBatchOperation operation) {
+        Set<ConstraintViolation<TaskBatchOperation>> violations = validator.validate(operation);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream()
+                .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                .sorted()
+                .collect(Collectors.joining("; "));
+    }
+
+    private void copyFields(TaskRequest request, Task task) {
         task.setTitle(request.getTitle());
         task.setDescription(request.getDescription());
         task.setStatus(request.getStatus());
         task.setPriority(request.getPriority());
         task.setDueDate(request.getDueDate());
-
-        Task updatedTask = taskRepository.save(task);
-        return mapToResponse(updatedTask);
     }
 
-    @Transactional
-    public void deleteTask(String username, Long projectId, Long taskId) {
-        User user = getUserByUsername(username);
-        projectRepository.findByIdAndUserId(projectId, user.getId())
-                .orElseThrow(() -> new ResourceNotFoundException("Project not found"));
-
-        Task task = taskRepository.findByIdAndProjectId(taskId, projectId)
-                .orElseThrow(() -> new ResourceNotFoundException("Task not found"));
+    // Property names whose value the request changes, for the TaskChangedEvent of a full update
+    private static Set<String> changedFields(TaskRequest request, Task task) {
+        Set<String> changed = new HashSet<>();
+        if (!Objects.equals(request.getTitle(), task.getTitle())) {
+            changed.add("title");
+        }
+        if (!Objects.equals(request.getDescription(), task.getDescription())) {
+            changed.add("description");
+        }
+        if (request.getStatus() != task.getStatus()) {
+            changed.add("status");
+        }
+        if (request.getPriority() != task.getPriority()) {
+            changed.add("priority");
+        }
+        if (!Objects.equals(request.getDueDate(), task.getDueDate())) {
+            changed.add("dueDate");
+        }
+        return changed;
+    }
 
-        taskRepository.delete(task);
+    // A memory lookup once the project is cached
+    private void checkProjectOwner(Long userId, Long projectId) {
+        if (!projectOwnershipCache.isOwner(projectId, userId)) {
+            throw new ResourceNotFoundException("Project not found");
+        }
     }
 
-    private User getUserByUsername(String username) {
-        return userRepository.findByUsername(username)
-                .orElseThrow(() -> new ResourceNotFoundException("User not found"));
+    // Only runs on a miss, to tell a foreign or missing project apart from a missing task
+    private ResourceNotFoundException taskNotFound(Long userId, Long projectId) {
+        return projectOwnershipCache.isOwner(projectId, userId)
+                ? new ResourceNotFoundException("Task not found")
+                : new ResourceNotFoundException("Project not found");
     }
 
-    private TaskResponse mapToResponse(Task task) {
+    static TaskResponse mapToResponse(Task task) {
         return new TaskResponse(
                 task.getId(),
                 task.getTitle(),
@@ -144,7 +518,8 @@ public class TaskService {
                 task.getDueDate(),
                 task.getProject().getId(),
                 task.getCreatedAt(),
-                task.getUpdatedAt()
+                task.getUpdatedAt(),
+                task.getVersion()
         );
     }
 }
\ No newline at end of file
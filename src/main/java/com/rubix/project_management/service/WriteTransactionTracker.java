@@ -0,0 +1,47 @@
+package com.rubix.project_management.service;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.TransactionExecution;
+import org.springframework.transaction.TransactionExecutionListener;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Start times of this instance's open read-write transactions. Every updatedAt or deletedAt a
+// transaction writes is taken after it began, so nothing committed later can carry a timestamp
+// before the oldest start: the sync watermark never passes it.
+// Registered with the transaction manager as a TransactionExecutionListener bean.
+@Component
+public class WriteTransactionTracker implements TransactionExecutionListener {
+
+    private final Map<TransactionExecution, LocalDateTime> open = new ConcurrentHashMap<>();
+
+    @Override
+    public void afterBegin(TransactionExecution transaction, Throwable beginFailure) {
+        if (beginFailure == null && !transaction.isReadOnly()) {
+            open.put(transaction, LocalDateTime.now());
+        }
+    }
+
+    @Override
+    public void afterCommit(TransactionExecution transaction, Throwable commitFailure) {
+        open.remove(transaction);
+    }
+
+    @Override
+    public void afterRollback(TransactionExecution transaction, Throwable rollbackFailure) {
+        open.remove(transaction);
+    }
+
+    // The start of the oldest open read-write transaction, or null when there is none
+    public LocalDateTime oldestStart() {
+        LocalDateTime oldest = null;
+        for (LocalDateTime start : open.values()) {
+            if (oldest == null || start.isBefore(oldest)) {
+                oldest = start;
+            }
+        }
+        return oldest;
+    }
+}
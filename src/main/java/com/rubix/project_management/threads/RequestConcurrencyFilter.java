@@ -0,0 +1,86 @@
+package com.rubix.project_management.threads;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.rubix.project_management.dto.ErrorResponse;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+// With virtual threads Tomcat no longer caps concurrent requests at its pool size, so every
+// request would queue on the JDBC pool until its connection timeout. This bounds the requests
+// in flight and answers 503 once a request has waited acquire-timeout for a slot.
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@ConditionalOnThreading(Threading.VIRTUAL)
+public class RequestConcurrencyFilter extends OncePerRequestFilter {
+
+    private final Semaphore permits;
+    private final int maxConcurrentRequests;
+    private final Duration acquireTimeout;
+    private final ObjectMapper objectMapper;
+    private final LongAdder rejected = new LongAdder();
+
+    public RequestConcurrencyFilter(@Value("${app.threads.max-concurrent-requests:200}") int maxConcurrentRequests,
+                                    @Value("${app.threads.acquire-timeout:2s}") Duration acquireTimeout,
+                                    ObjectMapper objectMapper) {
+        this.permits = new Semaphore(maxConcurrentRequests, true);
+        this.maxConcurrentRequests = maxConcurrentRequests;
+        this.acquireTimeout = acquireTimeout;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        boolean acquired;
+        try {
+            acquired = permits.tryAcquire(acquireTimeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            acquired = false;
+        }
+        if (!acquired) {
+            rejected.increment();
+            response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+            response.setHeader("Retry-After", "1");
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            objectMapper.writeValue(response.getOutputStream(), new ErrorResponse(
+                    HttpStatus.SERVICE_UNAVAILABLE.value(), "Server is busy, please retry", LocalDateTime.now()));
+            return;
+        }
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            permits.release();
+        }
+    }
+
+    public Map<String, Object> stats() {
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("maxConcurrentRequests", maxConcurrentRequests);
+        result.put("inFlight", maxConcurrentRequests - permits.availablePermits());
+        result.put("waiting", permits.getQueueLength());
+        result.put("rejected", rejected.sum());
+        return result;
+    }
+}
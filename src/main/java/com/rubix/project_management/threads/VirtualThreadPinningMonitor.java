@@ -0,0 +1,109 @@
+package com.rubix.project_management.threads;
+
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingStream;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+// Streams the JFR jdk.VirtualThreadPinned event: a virtual thread that blocks while pinned
+// (inside synchronized, or in native code) holds its carrier thread, and enough of them
+// stall every other virtual thread. Pins are grouped by the first application frame.
+@Slf4j
+@Component
+@ConditionalOnThreading(Threading.VIRTUAL)
+public class VirtualThreadPinningMonitor {
+
+    private static final String APPLICATION_PACKAGE = "com.rubix.";
+    private static final int MAX_SITES = 200;
+
+    private final Duration threshold;
+    private final LongAdder pinnedEvents = new LongAdder();
+    private final LongAdder pinnedNanos = new LongAdder();
+    private final Map<String, LongAdder> sites = new ConcurrentHashMap<>();
+    private volatile RecordingStream stream;
+
+    public VirtualThreadPinningMonitor(@Value("${app.threads.pinning-threshold:20ms}") Duration threshold) {
+        this.threshold = threshold;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        try {
+            RecordingStream recording = new RecordingStream();
+            recording.enable("jdk.VirtualThreadPinned").withThreshold(threshold).withStackTrace();
+            recording.onEvent("jdk.VirtualThreadPinned", this::record);
+            recording.startAsync();
+            stream = recording;
+            log.info("Monitoring virtual thread pinning longer than {}", threshold);
+        } catch (RuntimeException e) {
+            log.warn("Virtual thread pinning monitor unavailable: {}", e.getMessage());
+        }
+    }
+
+    private void record(RecordedEvent event) {
+        pinnedEvents.increment();
+        pinnedNanos.add(event.getDuration().toNanos());
+        String site = site(event.getStackTrace());
+        LongAdder count = sites.get(site);
+        if (count == null && sites.size() < MAX_SITES) {
+            count = sites.computeIfAbsent(site, key -> new LongAdder());
+            log.warn("Virtual thread pinned for {} ms at {}", event.getDuration().toMillis(), site);
+        }
+        if (count != null) {
+            count.increment();
+        }
+    }
+
+    private static String site(RecordedStackTrace stackTrace) {
+        if (stackTrace == null || stackTrace.getFrames().isEmpty()) {
+            return "unknown";
+        }
+        RecordedFrame top = stackTrace.getFrames().get(0);
+        for (RecordedFrame frame : stackTrace.getFrames()) {
+            if (frame.getMethod().getType().getName().startsWith(APPLICATION_PACKAGE)) {
+                return describe(frame) + " via " + describe(top);
+            }
+        }
+        return describe(top);
+    }
+
+    private static String describe(RecordedFrame frame) {
+        return frame.getMethod().getType().getName() + "." + frame.getMethod().getName() + ":" + frame.getLineNumber();
+    }
+
+    public Map<String, Object> stats() {
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("active", stream != null);
+        result.put("thresholdMillis", threshold.toMillis());
+        result.put("pinnedEvents", pinnedEvents.sum());
+        result.put("pinnedMillis", pinnedNanos.sum() / 1_000_000);
+        Map<String, Long> bySite = new LinkedHashMap<>();
+        sites.entrySet().stream()
+                .sorted(Comparator.comparingLong((Map.Entry<String, LongAdder> e) -> e.getValue().sum()).reversed())
+                .forEach(e -> bySite.put(e.getKey(), e.getValue().sum()));
+        result.put("sites", bySite);
+        return result;
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (stream != null) {
+            stream.close();
+        }
+    }
+}
@@ -0,0 +1,50 @@
+-- Schema as previously generated by Hibernate (ddl-auto=create-drop)
+
+CREATE TABLE users (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    username VARCHAR(255) NOT NULL UNIQUE,
+    email VARCHAR(255) NOT NULL UNIQUE,
+    password VARCHAR(255) NOT NULL,
+    created_at TIMESTAMP(6) NOT NULL,
+    updated_at TIMESTAMP(6) NOT NULL
+);
+
+CREATE TABLE projects (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    name VARCHAR(255) NOT NULL,
+    description VARCHAR(1000),
+    user_id BIGINT NOT NULL,
+    created_at TIMESTAMP(6) NOT NULL,
+    updated_at TIMESTAMP(6) NOT NULL,
+    deleted_at TIMESTAMP(6),
+    CONSTRAINT fk_projects_user FOREIGN KEY (user_id) REFERENCES users (id)
+);
+
+CREATE SEQUENCE tasks_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE tasks (
+    id BIGINT PRIMARY KEY,
+    title VARCHAR(255) NOT NULL,
+    description VARCHAR(2000),
+    status VARCHAR(50) NOT NULL,
+    priority VARCHAR(50) NOT NULL,
+    due_date DATE,
+    project_id BIGINT NOT NULL,
+    created_at TIMESTAMP(6) NOT NULL,
+    updated_at TIMESTAMP(6) NOT NULL,
+    CONSTRAINT fk_tasks_project FOREIGN KEY (project_id) REFERENCES projects (id),
+    CONSTRAINT ck_tasks_status CHECK (status IN ('PENDING', 'IN_PROGRESS', 'COMPLETED')),
+    CONSTRAINT ck_tasks_priority CHECK (priority IN ('LOW', 'MEDIUM', 'HIGH'))
+);
+
+CREATE TABLE project_task_counts (
+    project_id BIGINT PRIMARY KEY,
+    total BIGINT NOT NULL,
+    pending BIGINT NOT NULL,
+    in_progress BIGINT NOT NULL,
+    completed BIGINT NOT NULL,
+    low_priority BIGINT NOT NULL,
+    medium_priority BIGINT NOT NULL,
+    high_priority BIGINT NOT NULL,
+    CONSTRAINT fk_project_task_counts_project FOREIGN KEY (project_id) REFERENCES projects (id)
+);
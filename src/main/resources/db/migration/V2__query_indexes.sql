@@ -0,0 +1,15 @@
+-- Indexes for the predicates in ProjectRepository and TaskRepository.
+-- RepositoryIndexUsageTest runs EXPLAIN on every repository query against this schema.
+-- H2 already indexes each foreign key column, which serves projects(user_id) and tasks(project_id).
+
+-- purge of soft-deleted projects, oldest first
+CREATE INDEX idx_projects_deleted_at ON projects (deleted_at);
+
+-- task listings filtered by status/priority and the per-project status/priority counts
+CREATE INDEX idx_tasks_project_status_priority ON tasks (project_id, status, priority);
+
+-- task pages sorted by due date and overdue counts
+CREATE INDEX idx_tasks_project_due_date ON tasks (project_id, due_date);
+
+-- changes since a point in time (exports with updatedSince)
+CREATE INDEX idx_tasks_updated_at ON tasks (updated_at);
@@ -0,0 +1,12 @@
+-- Per-project version of the task list, bumped with the counters by every task write.
+-- Backs the ETag and Last-Modified of GET /api/projects/{projectId}/tasks.
+
+ALTER TABLE project_task_counts ADD COLUMN version BIGINT DEFAULT 0 NOT NULL;
+ALTER TABLE project_task_counts ADD COLUMN modified_at TIMESTAMP(6);
+
+UPDATE project_task_counts c SET modified_at = COALESCE(
+        (SELECT MAX(t.updated_at) FROM tasks t WHERE t.project_id = c.project_id),
+        (SELECT p.updated_at FROM projects p WHERE p.id = c.project_id),
+        LOCALTIMESTAMP);
+
+ALTER TABLE project_task_counts ALTER COLUMN modified_at SET NOT NULL;
@@ -0,0 +1,5 @@
+-- Optimistic locking: every write to a task or project row bumps its version. Entity writes
+-- check it in their WHERE clause, and it is the ETag of single-resource responses.
+
+ALTER TABLE tasks ADD COLUMN version BIGINT DEFAULT 0 NOT NULL;
+ALTER TABLE projects ADD COLUMN version BIGINT DEFAULT 0 NOT NULL;
@@ -0,0 +1,41 @@
+-- Append-only task change history, written by TaskHistoryRecorder after commit.
+-- changed_fields is a bit mask of the fields a change wrote (TaskField); a delta row only fills
+-- those columns. Snapshot rows fill every column, so any version is rebuilt from the closest
+-- snapshot before it plus the deltas since. No foreign key: history outlives its task and is
+-- removed with the project by the purge.
+
+CREATE SEQUENCE task_history_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE task_history (
+    id BIGINT PRIMARY KEY,
+    task_id BIGINT NOT NULL,
+    project_id BIGINT NOT NULL,
+    change_type VARCHAR(20) NOT NULL,
+    changed_fields INT NOT NULL,
+    snapshot BOOLEAN NOT NULL,
+    user_id BIGINT NOT NULL,
+    changed_at TIMESTAMP(6) NOT NULL,
+    task_version BIGINT,
+    title VARCHAR(255),
+    description VARCHAR(2000),
+    status VARCHAR(50),
+    priority VARCHAR(50),
+    due_date DATE,
+    CONSTRAINT ck_task_history_change_type CHECK (change_type IN ('CREATED', 'UPDATED', 'DELETED'))
+);
+
+-- a task's entries in order, newest first for the history endpoint
+CREATE INDEX idx_task_history_task ON task_history (task_id, id);
+
+-- the latest snapshot of a task
+CREATE INDEX idx_task_history_task_snapshot ON task_history (task_id, snapshot, id);
+
+-- purge with the project
+CREATE INDEX idx_task_history_project ON task_history (project_id);
+
+-- Existing tasks start from a snapshot of their current state (changed_fields 0: no change recorded)
+INSERT INTO task_history (id, task_id, project_id, change_type, changed_fields, snapshot, user_id, changed_at,
+        task_version, title, description, status, priority, due_date)
+SELECT NEXT VALUE FOR task_history_seq, t.id, t.project_id, 'UPDATED', 0, TRUE, p.user_id, t.updated_at,
+        t.version, t.title, t.description, t.status, t.priority, t.due_date
+FROM tasks t JOIN projects p ON p.id = t.project_id;
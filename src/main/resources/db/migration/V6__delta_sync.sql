@@ -0,0 +1,25 @@
+-- Incremental sync (GET /api/sync): changes since a watermark, per user.
+
+-- tasks of each of the user's projects changed since the watermark
+CREATE INDEX idx_tasks_project_updated_at ON tasks (project_id, updated_at);
+
+-- the user's projects changed since the watermark
+CREATE INDEX idx_projects_user_updated_at ON projects (user_id, updated_at);
+
+-- Deleted tasks and projects, written in the deleting transaction and kept for
+-- app.sync.tombstone-retention. A project tombstone stands for all of its tasks.
+CREATE SEQUENCE sync_tombstones_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE sync_tombstones (
+    id BIGINT PRIMARY KEY,
+    entity_type VARCHAR(20) NOT NULL,
+    entity_id BIGINT NOT NULL,
+    user_id BIGINT NOT NULL,
+    deleted_at TIMESTAMP(6) NOT NULL,
+    CONSTRAINT ck_sync_tombstones_entity_type CHECK (entity_type IN ('TASK', 'PROJECT'))
+);
+
+CREATE INDEX idx_sync_tombstones_user_deleted_at ON sync_tombstones (user_id, deleted_at);
+
+-- expiry of old tombstones
+CREATE INDEX idx_sync_tombstones_deleted_at ON sync_tombstones (deleted_at);
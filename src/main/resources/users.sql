@@ -1,8 +0,0 @@
-CREATE TABLE users (
-                       id BIGINT PRIMARY KEY AUTO_INCREMENT,
-                       username VARCHAR(255) UNIQUE NOT NULL,
-                       email VARCHAR(255) UNIQUE NOT NULL,
-                       password VARCHAR(255) NOT NULL,
-                       created_at TIMESTAMP NOT NULL,
-                       updated_at TIMESTAMP NOT NULL
-);
\ No newline at end of file
@@ -0,0 +1,159 @@
+package com.rubix.project_management.datasource;
+
+import com.rubix.project_management.dto.ProjectRequest;
+import com.rubix.project_management.dto.ProjectResponse;
+import com.rubix.project_management.dto.RegisterRequest;
+import com.rubix.project_management.dto.SyncResponse;
+import com.rubix.project_management.repository.UserRepository;
+import com.rubix.project_management.security.AuthenticatedUser;
+import com.rubix.project_management.service.AuthService;
+import com.rubix.project_management.service.ProjectService;
+import com.rubix.project_management.service.SyncService;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.sql.Connection;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Two H2 databases stand in for the primary and a replica. The replica is migrated but never
+// receives the primary's writes, so which copy of a row comes back shows where a read went.
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:routing-primary",
+        "spring.jpa.show-sql=false",
+        "app.datasource.replicas.enabled=true",
+        "app.datasource.replicas.urls=" + ReadReplicaRoutingTest.REPLICA_URL,
+        "app.datasource.replicas.health-check-interval=1h",
+        "app.datasource.replicas.read-your-writes-window=1m"
+})
+class ReadReplicaRoutingTest {
+
+    static final String REPLICA_URL = "jdbc:h2:mem:routing-replica;DB_CLOSE_DELAY=-1";
+
+    private static JdbcTemplate replica;
+
+    @Autowired
+    private AuthService authService;
+    @Autowired
+    private ProjectService projectService;
+    @Autowired
+    private SyncService syncService;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @BeforeAll
+    static void migrateReplica() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(REPLICA_URL, "sa", "");
+        Flyway.configure().dataSource(dataSource).load().migrate();
+        replica = new JdbcTemplate(dataSource);
+    }
+
+    @AfterEach
+    void clearSecurityContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void readOnlyTransactionsGoToTheReplica() {
+        long userId = register("reader");
+        long projectId = projectService.createProject(userId, new ProjectRequest("on primary", null)).getId();
+        copyToReplica(userId, "reader", projectId, "on replica");
+
+        assertEquals("on replica", projectService.getProjectById(userId, projectId).getName());
+        assertTrue(routed("replica-1", "read-only") > 0);
+    }
+
+    @Test
+    void readsStayOnThePrimaryAfterTheUsersOwnWrite() {
+        long writerId = register("writer");
+        long otherId = register("other");
+        long projectId = projectService.createProject(writerId, new ProjectRequest("on primary", null)).getId();
+        long otherProjectId = projectService.createProject(otherId, new ProjectRequest("on primary", null)).getId();
+        copyToReplica(writerId, "writer", projectId, "on replica");
+        copyToReplica(otherId, "other", otherProjectId, "on replica");
+
+        authenticate(writerId, "writer");
+        projectService.updateProject(writerId, projectId, new ProjectRequest("updated", null));
+        assertEquals("updated", projectService.getProjectById(writerId, projectId).getName());
+        assertTrue(routed(ReadOnlyRoutingDataSource.PRIMARY, "read-your-writes") > 0);
+
+        authenticate(otherId, "other");
+        assertEquals("on replica", projectService.getProjectById(otherId, otherProjectId).getName());
+    }
+
+    @Test
+    void syncReadsFromThePrimary() {
+        long userId = register("syncer");
+        long projectId = projectService.createProject(userId, new ProjectRequest("on primary", null)).getId();
+        copyToReplica(userId, "syncer", projectId, "on replica");
+
+        SyncResponse sync = syncService.sync(userId, null, 100);
+        assertEquals(List.of("on primary"), sync.getProjects().stream().map(ProjectResponse::getName).toList());
+        assertTrue(routed(ReadOnlyRoutingDataSource.PRIMARY, "primary-required") > 0);
+    }
+
+    @Test
+    void unreachableReplicaFallsBackToThePrimary() throws Exception {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        HikariDataSource unreachable = new HikariDataSource();
+        unreachable.setPoolName("replica-down");
+        unreachable.setJdbcUrl("jdbc:h2:tcp://127.0.0.1:1/unreachable");
+        unreachable.setConnectionTimeout(250);
+        unreachable.setInitializationFailTimeout(-1);
+        DriverManagerDataSource primary = new DriverManagerDataSource("jdbc:h2:mem:routing-fallback", "sa", "");
+
+        try (ReplicaSet replicas = new ReplicaSet(List.of(unreachable), Duration.ofSeconds(1), registry)) {
+            assertFalse(replicas.health().get("replica-down"));
+            ReadOnlyRoutingDataSource routing = new ReadOnlyRoutingDataSource(
+                    primary, replicas, new ReadYourWritesTracker(Duration.ZERO, 1), registry);
+            try (Connection connection = routing.getConnection()) {
+                assertEquals("jdbc:h2:mem:routing-fallback", connection.getMetaData().getURL());
+            }
+            assertEquals(1, registry.counter("app.datasource.route",
+                    "route", ReadOnlyRoutingDataSource.PRIMARY, "reason", "no-healthy-replica").count());
+        }
+    }
+
+    private long register(String name) {
+        String username = name + System.nanoTime();
+        authService.register(new RegisterRequest(username, username + "@example.com", "secret1"));
+        return userRepository.findByUsername(username).orElseThrow().getId();
+    }
+
+    // The replica's copy of the rows, as if replicated, but under a different project name
+    private static void copyToReplica(long userId, String name, long projectId, String projectName) {
+        LocalDateTime now = LocalDateTime.now();
+        replica.update("INSERT INTO users (id, username, email, password, created_at, updated_at) VALUES (?, ?, ?, 'x', ?, ?)",
+                userId, name + userId, name + userId + "@example.com", now, now);
+        replica.update("INSERT INTO projects (id, name, user_id, created_at, updated_at) VALUES (?, ?, ?, ?, ?)",
+                projectId, projectName, userId, now, now);
+    }
+
+    private static void authenticate(long userId, String username) {
+        AuthenticatedUser user = new AuthenticatedUser(userId, username, null, List.of());
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(user, null, user.getAuthorities()));
+    }
+
+    private double routed(String route, String reason) {
+        return meterRegistry.counter("app.datasource.route", "route", route, "reason", reason).count();
+    }
+}
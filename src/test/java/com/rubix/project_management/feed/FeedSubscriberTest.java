@@ -0,0 +1,63 @@
+package com.rubix.project_management.feed;
+
+import com.rubix.project_management.dto.TaskChangeMessage;
+import com.rubix.project_management.dto.TaskResponse;
+import com.rubix.project_management.enums.ChangeType;
+import com.rubix.project_management.enums.Priority;
+import com.rubix.project_management.enums.Status;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class FeedSubscriberTest {
+
+    private final Counter resets = new SimpleMeterRegistry().counter("resets");
+    private final FeedSubscriber subscriber = new FeedSubscriber(1L, new SseEmitter(), 2, resets);
+
+    @Test
+    void changesToAWaitingTaskAreMerged() {
+        assertTrue(subscriber.offer(new TaskChangeMessage(ChangeType.CREATED,
+                new TaskResponse(7L, "Draft", "d", Status.PENDING, Priority.LOW, null, 1L, null, null, 0L), null)));
+        assertFalse(subscriber.offer(new TaskChangeMessage(ChangeType.UPDATED,
+                new TaskResponse(7L, null, null, Status.COMPLETED, null, null, 1L, null, null, 1L), Set.of("status"))));
+
+        List<TaskChangeMessage> sent = taskEvents(subscriber.take());
+        assertEquals(1, sent.size());
+        assertEquals(ChangeType.CREATED, sent.get(0).getType());
+        assertNull(sent.get(0).getChangedFields());
+        assertEquals("Draft", sent.get(0).getTask().getTitle());
+        assertEquals(Status.COMPLETED, sent.get(0).getTask().getStatus());
+        assertEquals(1L, sent.get(0).getTask().getVersion());
+        assertNull(subscriber.take());
+    }
+
+    @Test
+    void fallingTooFarBehindSendsReset() {
+        for (long taskId = 1; taskId <= 3; taskId++) {
+            subscriber.offer(new TaskChangeMessage(ChangeType.DELETED,
+                    new TaskResponse(taskId, null, null, null, null, null, 1L, null, null, null), null));
+        }
+        List<SseEmitter.SseEventBuilder> events = subscriber.take();
+        assertEquals(1, events.size());
+        assertTrue(events.get(0).build().iterator().next().getData().toString().contains("event:reset"));
+        assertEquals(1, resets.count());
+    }
+
+    private static List<TaskChangeMessage> taskEvents(List<SseEmitter.SseEventBuilder> events) {
+        return events.stream()
+                .flatMap(event -> event.build().stream())
+                .map(part -> part.getData())
+                .filter(TaskChangeMessage.class::isInstance)
+                .map(TaskChangeMessage.class::cast)
+                .toList();
+    }
+}
@@ -0,0 +1,70 @@
+package com.rubix.project_management.history;
+
+import com.rubix.project_management.dto.ProjectRequest;
+import com.rubix.project_management.dto.RegisterRequest;
+import com.rubix.project_management.dto.TaskHistoryResponse;
+import com.rubix.project_management.dto.TaskRequest;
+import com.rubix.project_management.dto.TaskResponse;
+import com.rubix.project_management.enums.ChangeType;
+import com.rubix.project_management.enums.Priority;
+import com.rubix.project_management.enums.Status;
+import com.rubix.project_management.event.TaskChangedEvent;
+import com.rubix.project_management.repository.UserRepository;
+import com.rubix.project_management.service.AuthService;
+import com.rubix.project_management.service.ProjectService;
+import com.rubix.project_management.service.TaskHistoryService;
+import com.rubix.project_management.service.TaskService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@SpringBootTest
+class TaskHistoryRecorderTest {
+
+    @Autowired
+    private AuthService authService;
+    @Autowired
+    private ProjectService projectService;
+    @Autowired
+    private TaskService taskService;
+    @Autowired
+    private TaskHistoryService historyService;
+    @Autowired
+    private TaskHistoryRecorder recorder;
+    @Autowired
+    private UserRepository userRepository;
+
+    @Test
+    void changesAreWrittenInVersionOrder() {
+        authService.register(new RegisterRequest("recorder", "recorder@example.com", "secret1"));
+        Long userId = userRepository.findByUsername("recorder").orElseThrow().getId();
+        Long projectId = projectService.createProject(userId, new ProjectRequest("History", null)).getId();
+        Long taskId = taskService.createTask(userId, projectId,
+                new TaskRequest("created", null, Status.PENDING, Priority.LOW, null)).getId();
+        recorder.flushAll();
+
+        // Two commits whose after-commit callbacks reach the recorder in the opposite order
+        recorder.onTaskChanged(renamed(userId, projectId, taskId, "second", 2L));
+        recorder.flushAll();
+        assertEquals(1, historyService.getTaskHistory(userId, projectId, taskId, 10).size());
+        recorder.onTaskChanged(renamed(userId, projectId, taskId, "first", 1L));
+        recorder.flushAll();
+
+        List<TaskHistoryResponse> history = historyService.getTaskHistory(userId, projectId, taskId, 10);
+        assertEquals(List.of(2L, 1L, 0L), history.stream().map(entry -> entry.getTask().getVersion()).toList());
+        assertEquals(List.of("second", "first", "created"),
+                history.stream().map(entry -> entry.getTask().getTitle()).toList());
+    }
+
+    private static TaskChangedEvent renamed(Long userId, Long projectId, Long taskId, String title, Long version) {
+        TaskResponse task = new TaskResponse(taskId, title, null, null, null, null, projectId, null,
+                LocalDateTime.now(), version);
+        return new TaskChangedEvent(ChangeType.UPDATED, userId, task, Set.of("title"));
+    }
+}
@@ -0,0 +1,333 @@
+package com.rubix.project_management.repository;
+
+import com.rubix.project_management.dto.Cursor;
+import com.rubix.project_management.dto.ProjectPatch;
+import com.rubix.project_management.dto.TaskPatch;
+import com.rubix.project_management.enums.Priority;
+import com.rubix.project_management.enums.Status;
+import com.rubix.project_management.enums.TaskSortField;
+import com.rubix.project_management.support.QueryBudget;
+import com.rubix.project_management.support.QueryBudgetTest;
+import com.rubix.project_management.support.SqlRecorder;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.lang.reflect.Method;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.fail;
+
+// Runs every query method of the repositories, EXPLAINs the SQL it issues against the migrated
+// schema and fails when a table is read without an index. A new query method fails the test
+// until it is added here.
+@QueryBudgetTest
+class RepositoryIndexUsageTest {
+
+    // Queries that read a whole table or index on purpose
+    private static final Map<String, String> FULL_SCANS = Map.of(
+            "ProjectRepository.findAllIds", "counter reconciliation visits every project",
+            "ProjectRepository.findDeletedProjectOwners", "reads idx_projects_deleted_at; H2 cannot seek IS NOT NULL",
+            "ProjectRepository.countDeleted", "reads idx_projects_deleted_at; H2 cannot seek IS NOT NULL",
+            "ProjectRepository.countTasksOfDeleted", "reads idx_projects_deleted_at; H2 cannot seek IS NOT NULL",
+            "ProjectTaskCountsRepository.countAllTasksGrouped", "counter reconciliation groups every task",
+            "TaskRepository.streamSearchDocuments", "the search index is built from every task"
+    );
+
+    // H2 comments the access path of every table in the plan: /* PUBLIC.TASKS.tableScan */,
+    // /* PUBLIC.IDX_TASKS_PROJECT_DUE_DATE: PROJECT_ID = ?1 */ or /* PUBLIC.IDX_PROJECTS_DELETED_AT */
+    private static final Pattern ACCESS = Pattern.compile("/\\* PUBLIC\\.([\\w.]+)(?:: ([^*]+))? \\*/");
+    // Index accesses without a seek condition read the whole index
+    private static final Pattern NO_SEEK = Pattern.compile("\\s*(\\w+ IS NULL\\s*(AND\\s*)?)*");
+
+    @Autowired
+    private ProjectRepository projectRepository;
+    @Autowired
+    private ProjectTaskCountsRepository countsRepository;
+    @Autowired
+    private TaskRepository taskRepository;
+    @Autowired
+    private TaskHistoryRepository historyRepository;
+    @Autowired
+    private SyncTombstoneRepository tombstoneRepository;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate transaction;
+    private final Set<String> checked = new TreeSet<>();
+    private final List<String> failures = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        transaction = new TransactionTemplate(transactionManager);
+        seed();
+    }
+
+    // H2 costs plans from table statistics, and on empty tables a scan always looks cheapest.
+    // 50 users with 10 projects each (one in ten deleted) and 40 tasks per project, then ANALYZE.
+    private void seed() {
+        Integer seeded = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM users WHERE username LIKE 'explain-%'", Integer.class);
+        if (seeded != null && seeded > 0) {
+            return;
+        }
+        jdbcTemplate.update("INSERT INTO users (username, email, password, created_at, updated_at) " +
+                "SELECT 'explain-' || X, 'explain-' || X || '@example.com', 'x', LOCALTIMESTAMP, LOCALTIMESTAMP " +
+                "FROM SYSTEM_RANGE(1, 50)");
+        jdbcTemplate.update("INSERT INTO projects (name, user_id, created_at, updated_at, deleted_at) " +
+                "SELECT 'project ' || X, u.id, LOCALTIMESTAMP, LOCALTIMESTAMP, " +
+                "CASE WHEN MOD(X, 10) = 0 THEN LOCALTIMESTAMP END " +
+                "FROM users u CROSS JOIN SYSTEM_RANGE(1, 10) WHERE u.username LIKE 'explain-%'");
+        jdbcTemplate.update("INSERT INTO tasks (id, title, description, status, priority, due_date, " +
+                "project_id, created_at, updated_at) " +
+                "SELECT NEXT VALUE FOR tasks_seq, 'task ' || X, 'details', " +
+                "CASEWHEN(MOD(X, 3) = 0, 'PENDING', CASEWHEN(MOD(X, 3) = 1, 'IN_PROGRESS', 'COMPLETED')), " +
+                "CASEWHEN(MOD(X, 3) = 0, 'LOW', CASEWHEN(MOD(X, 3) = 1, 'MEDIUM', 'HIGH')), " +
+                "DATEADD(DAY, MOD(X, 90), CURRENT_DATE), p.id, LOCALTIMESTAMP, " +
+                "DATEADD(MINUTE, -X, LOCALTIMESTAMP) " +
+                "FROM projects p JOIN users u ON u.id = p.user_id CROSS JOIN SYSTEM_RANGE(1, 40) " +
+                "WHERE u.username LIKE 'explain-%'");
+        jdbcTemplate.update("INSERT INTO project_task_counts " +
+                "(project_id, total, pending, in_progress, completed, low_priority, medium_priority, high_priority, modified_at) " +
+                "SELECT p.id, COUNT(t.id), " +
+                "SUM(CASEWHEN(t.status = 'PENDING', 1, 0)), SUM(CASEWHEN(t.status = 'IN_PROGRESS', 1, 0)), " +
+                "SUM(CASEWHEN(t.status = 'COMPLETED', 1, 0)), SUM(CASEWHEN(t.priority = 'LOW', 1, 0)), " +
+                "SUM(CASEWHEN(t.priority = 'MEDIUM', 1, 0)), SUM(CASEWHEN(t.priority = 'HIGH', 1, 0)), LOCALTIMESTAMP " +
+                "FROM projects p JOIN users u ON u.id = p.user_id JOIN tasks t ON t.project_id = p.id " +
+                "WHERE u.username LIKE 'explain-%' GROUP BY p.id");
+        // A creation snapshot and two status changes per task
+        jdbcTemplate.update("INSERT INTO task_history (id, task_id, project_id, change_type, changed_fields, snapshot, " +
+                "user_id, changed_at, task_version, title, status, priority) " +
+                "SELECT NEXT VALUE FOR task_history_seq, t.id, t.project_id, CASEWHEN(X = 1, 'CREATED', 'UPDATED'), " +
+                "CASEWHEN(X = 1, 31, 4), X = 1, u.id, LOCALTIMESTAMP, X - 1, t.title, t.status, t.priority " +
+                "FROM tasks t JOIN projects p ON p.id = t.project_id JOIN users u ON u.id = p.user_id " +
+                "CROSS JOIN SYSTEM_RANGE(1, 3) WHERE u.username LIKE 'explain-%'");
+        // A tombstone per deleted project and four deleted tasks per project
+        jdbcTemplate.update("INSERT INTO sync_tombstones (id, entity_type, entity_id, user_id, deleted_at) " +
+                "SELECT NEXT VALUE FOR sync_tombstones_seq, CASEWHEN(p.deleted_at IS NULL, 'TASK', 'PROJECT'), " +
+                "CASEWHEN(p.deleted_at IS NULL, 1000000 + p.id * 10 + X, p.id), p.user_id, " +
+                "DATEADD(HOUR, -X, LOCALTIMESTAMP) " +
+                "FROM projects p JOIN users u ON u.id = p.user_id CROSS JOIN SYSTEM_RANGE(1, 4) " +
+                "WHERE u.username LIKE 'explain-%' AND (p.deleted_at IS NULL OR X = 1)");
+        jdbcTemplate.execute("ANALYZE");
+    }
+
+    @Test
+    void projectRepositoryQueriesUseIndexes() throws Exception {
+        String repository = "ProjectRepository";
+        explain(repository, "findByUserId", () -> projectRepository.findByUserId(1L));
+        explain(repository, "findByIdAndUserId", () -> projectRepository.findByIdAndUserId(1L, 1L));
+        explain(repository, "findOwnerIdById", () -> projectRepository.findOwnerIdById(1L));
+        explain(repository, "findAllIds", () -> projectRepository.findAllIds());
+        explain(repository, "findVersionByIdAndUserId", () -> projectRepository.findVersionByIdAndUserId(1L, 1L));
+        explain(repository, "findListVersionByUserId", () -> projectRepository.findListVersionByUserId(1L));
+        explain(repository, "findByUserIdAndIdGreaterThanOrderByIdAsc",
+                () -> projectRepository.findByUserIdAndIdGreaterThanOrderByIdAsc(1L, 0L, Limit.of(20)));
+        explain(repository, "softDelete", () -> projectRepository.softDelete(1L, 1L, LocalDateTime.now()));
+        explain(repository, "findDeletedProjectOwners", () -> projectRepository.findDeletedProjectOwners());
+        explain(repository, "countDeleted", () -> projectRepository.countDeleted());
+        explain(repository, "countTasksOfDeleted", () -> projectRepository.countTasksOfDeleted());
+        explain(repository, "purgeDeleted", () -> projectRepository.purgeDeleted(1L));
+        explain(repository, "findChangedSince",
+                () -> projectRepository.findChangedSince(1L, LocalDateTime.now().minusMinutes(5)));
+        explain(repository, "patch", () -> projectRepository.patch(1L, 1L, projectPatch(), 1L, LocalDateTime.now()));
+        assertAllChecked(ProjectRepository.class, ProjectRepositoryCustom.class);
+    }
+
+    @Test
+    void projectTaskCountsRepositoryQueriesUseIndexes() throws Exception {
+        String repository = "ProjectTaskCountsRepository";
+        explain(repository, "addDelta", () -> countsRepository.addDelta(1L, 1, 1, 0, 0, 0, 1, 0, LocalDateTime.now()));
+        explain(repository, "findTaskListVersion", () -> countsRepository.findTaskListVersion(1L, 1L));
+        explain(repository, "findForUpdate", () -> countsRepository.findForUpdate(1L));
+        explain(repository, "findSummariesByUserId", () -> countsRepository.findSummariesByUserId(1L));
+        explain(repository, "countOverdueByUserId",
+                () -> countsRepository.countOverdueByUserId(1L, LocalDate.now(), Status.COMPLETED));
+        explain(repository, "countAllTasksGrouped", () -> countsRepository.countAllTasksGrouped());
+        explain(repository, "countTasksGrouped", () -> countsRepository.countTasksGrouped(1L));
+        explain(repository, "deleteByProjectId", () -> countsRepository.deleteByProjectId(1L));
+        assertAllChecked(ProjectTaskCountsRepository.class);
+    }
+
+    @Test
+    void taskRepositoryQueriesUseIndexes() throws Exception {
+        String repository = "TaskRepository";
+        explain(repository, "findByProjectId", () -> taskRepository.findByProjectId(1L));
+        explain(repository, "findResponsesByProjectId",
+                () -> taskRepository.findResponsesByProjectId(1L, Sort.by("dueDate")));
+        explain(repository, "findByIdAndProjectId", () -> taskRepository.findByIdAndProjectId(1L, 1L));
+        explain(repository, "findByProjectIdAndIdIn", () -> taskRepository.findByProjectIdAndIdIn(1L, List.of(1L, 2L)));
+        explain(repository, "findIdsByProjectId", () -> taskRepository.findIdsByProjectId(1L, Limit.of(500)));
+        explain(repository, "deleteAllByIdIn", () -> taskRepository.deleteAllByIdIn(List.of(1L, 2L)));
+        explain(repository, "findOwnedTask", () -> taskRepository.findOwnedTask(1L, 1L, 1L));
+        explain(repository, "findOwnedTaskVersion", () -> taskRepository.findOwnedTaskVersion(1L, 1L, 1L));
+        explain(repository, "findOwnedTaskState", () -> taskRepository.findOwnedTaskState(1L, 1L, 1L));
+        explain(repository, "compareAndSetStatus",
+                () -> taskRepository.compareAndSetStatus(1L, 0L, Status.COMPLETED, LocalDateTime.now()));
+        explain(repository, "deleteIfUnchanged",
+                () -> taskRepository.deleteIfUnchanged(1L, 0L));
+        explain(repository, "findAllByUserId", () -> taskRepository.findAllByUserId(1L));
+        explain(repository, "streamAllByUserId", () -> {
+            try (var tasks = taskRepository.streamAllByUserId(1L, Status.PENDING, null, LocalDateTime.now())) {
+                tasks.count();
+            }
+        });
+        explain(repository, "streamSearchDocuments", () -> {
+            try (var documents = taskRepository.streamSearchDocuments()) {
+                documents.count();
+            }
+        });
+        explain(repository, "findByIdInAndUserId",
+                () -> taskRepository.findByIdInAndUserId(List.of(1L, 2L), 1L, Sort.by("id"), Limit.of(50)));
+        explain(repository, "searchTasksByUser", () -> taskRepository.searchTasksByUser(1L, "report", Sort.by("id"), Limit.of(50)));
+        explain(repository, "findByProjectIdWithFilters",
+                () -> taskRepository.findByProjectIdWithFilters(1L, Status.PENDING, Priority.HIGH, Sort.by("dueDate")));
+        for (TaskSortField sortField : TaskSortField.values()) {
+            explain(repository, "findPageByProjectId",
+                    () -> taskRepository.findPageByProjectId(1L, null, null, sortField, null, 20));
+            explain(repository, "findPageByProjectId",
+                    () -> taskRepository.findPageByProjectId(1L, Status.PENDING, null, sortField, cursorFor(sortField), 20));
+        }
+        explain(repository, "findChangedSince",
+                () -> taskRepository.findChangedSince(1L, LocalDateTime.now().minusMinutes(5), 0L, Limit.of(501)));
+        explain(repository, "patch", () -> taskRepository.patch(1L, 1L, 1L, taskPatch(), 1L, LocalDateTime.now()));
+        assertAllChecked(TaskRepository.class, TaskRepositoryCustom.class);
+    }
+
+    @Test
+    void taskHistoryRepositoryQueriesUseIndexes() throws Exception {
+        String repository = "TaskHistoryRepository";
+        explain(repository, "findLatest", () -> historyRepository.findLatest(1L, 1L, Limit.of(50)));
+        explain(repository, "findBase", () -> historyRepository.findBase(1L, 100L));
+        explain(repository, "findSinceLatestSnapshot", () -> historyRepository.findSinceLatestSnapshot(List.of(1L, 2L)));
+        explain(repository, "deleteByProjectId", () -> historyRepository.deleteByProjectId(1L));
+        assertAllChecked(TaskHistoryRepository.class);
+    }
+
+    @Test
+    void syncTombstoneRepositoryQueriesUseIndexes() throws Exception {
+        String repository = "SyncTombstoneRepository";
+        explain(repository, "findByUserIdDeletedSince",
+                () -> tombstoneRepository.findByUserIdDeletedSince(1L, LocalDateTime.now().minusHours(2)));
+        explain(repository, "deleteOlderThan", () -> tombstoneRepository.deleteOlderThan(LocalDateTime.now().minusDays(30)));
+        assertAllChecked(SyncTombstoneRepository.class);
+    }
+
+    @Test
+    void userRepositoryQueriesUseIndexes() throws Exception {
+        String repository = "UserRepository";
+        explain(repository, "findByUsername", () -> userRepository.findByUsername("alice"));
+        explain(repository, "existsByUsername", () -> userRepository.existsByUsername("alice"));
+        explain(repository, "existsByEmail", () -> userRepository.existsByEmail("alice@example.com"));
+        assertAllChecked(UserRepository.class);
+    }
+
+    private static TaskPatch taskPatch() {
+        TaskPatch patch = new TaskPatch();
+        patch.setStatus(Status.COMPLETED);
+        patch.setDueDate(null);
+        return patch;
+    }
+
+    private static ProjectPatch projectPatch() {
+        ProjectPatch patch = new ProjectPatch();
+        patch.setName("renamed");
+        return patch;
+    }
+
+    private static Cursor cursorFor(TaskSortField sortField) {
+        String value = switch (sortField) {
+            case ID -> "1";
+            case DUE_DATE -> "2030-01-01";
+            case PRIORITY -> "HIGH";
+            case STATUS -> "PENDING";
+            case TITLE -> "a";
+            case CREATED_AT, UPDATED_AT -> "2030-01-01T00:00:00";
+        };
+        return new Cursor(sortField.getProperty(), 1L, value);
+    }
+
+    // Runs the call in a rolled back transaction and EXPLAINs every statement it issued
+    private void explain(String repository, String method, QueryBudget.VoidCall call) throws Exception {
+        String query = repository + "." + method;
+        checked.add(query);
+        List<String> statements = transaction.execute(status -> {
+            status.setRollbackOnly();
+            try {
+                return SqlRecorder.statementsOf(call);
+            } catch (Exception e) {
+                throw new IllegalStateException(query, e);
+            }
+        });
+        if (statements.isEmpty()) {
+            fail(query + " issued no SQL");
+        }
+        for (String sql : statements) {
+            String plan = plan(sql);
+            Matcher access = ACCESS.matcher(plan);
+            while (access.find()) {
+                String path = access.group(1);
+                String condition = access.group(2);
+                boolean scan = path.endsWith(".tableScan") || condition == null || NO_SEEK.matcher(condition).matches();
+                if (scan && !FULL_SCANS.containsKey(query)) {
+                    failures.add(query + " reads all of " + path + "\n    " + plan.replace("\n", "\n    "));
+                    break;
+                }
+            }
+        }
+    }
+
+    // Parameters are bound as NULL: H2 plans a prepared statement once, independent of the values
+    private String plan(String sql) {
+        return jdbcTemplate.execute((java.sql.Connection connection) -> {
+            try (PreparedStatement statement = connection.prepareStatement("EXPLAIN " + sql)) {
+                int parameters = statement.getParameterMetaData().getParameterCount();
+                for (int i = 1; i <= parameters; i++) {
+                    statement.setObject(i, null);
+                }
+                try (ResultSet plan = statement.executeQuery()) {
+                    plan.next();
+                    return plan.getString(1);
+                }
+            }
+        });
+    }
+
+    private void assertAllChecked(Class<?>... repositories) {
+        Set<String> missing = new TreeSet<>();
+        for (Class<?> repository : repositories) {
+            String name = repository.getSimpleName().replace("Custom", "");
+            Arrays.stream(repository.getDeclaredMethods())
+                    .filter(method -> !method.isSynthetic())
+                    .map(Method::getName)
+                    .map(method -> name + "." + method)
+                    .filter(query -> !checked.contains(query))
+                    .forEach(missing::add);
+        }
+        assertEquals(Set.of(), missing, "repository queries without an EXPLAIN check");
+        if (!failures.isEmpty()) {
+            fail("Queries without an index:\n" + String.join("\n", failures));
+        }
+    }
+}
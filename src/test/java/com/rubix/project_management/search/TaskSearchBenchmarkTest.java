@@ -0,0 +1,118 @@
+package com.rubix.project_management.search;
+
+import com.rubix.project_management.repository.TaskRepository;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Compares the LIKE '%q%' repository query with the inverted index on a seeded dataset.
+// Run with: mvn test -Pbenchmark -Dbenchmark.tasks=50000
+@Tag("benchmark")
+@SpringBootTest(properties = "spring.jpa.show-sql=false")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class TaskSearchBenchmarkTest {
+
+    private static final String[] WORDS = {
+            "database", "schema", "migration", "index", "frontend", "backend", "deploy", "release",
+            "review", "design", "login", "payment", "invoice", "report", "search", "cache",
+            "latency", "monitoring", "alert", "customer", "onboarding", "refactor", "testing", "docs"
+    };
+    private static final List<String> QUERIES = List.of("database", "pay", "deploy release", "mon", "zzz");
+    private static final int ITERATIONS = 200;
+    // The default page size of the search endpoints
+    private static final int PAGE = 50;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private TaskSearchIndex taskSearchIndex;
+
+    private final int taskCount = Integer.getInteger("benchmark.tasks", 20_000);
+    private final long userId = 1_000_000L;
+
+    @BeforeAll
+    void seed() throws InterruptedException {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.update("INSERT INTO users (id, username, email, password, created_at, updated_at) " +
+                "VALUES (?, 'bench', 'bench@example.com', 'x', ?, ?)", userId, now, now);
+        jdbcTemplate.update("INSERT INTO projects (id, name, user_id, created_at, updated_at) " +
+                "VALUES (?, 'bench', ?, ?, ?)", userId, userId, now, now);
+
+        Random random = new Random(42);
+        List<Object[]> rows = new ArrayList<>(taskCount);
+        for (int i = 0; i < taskCount; i++) {
+            rows.add(new Object[]{userId + i, sentence(random, 4), sentence(random, 20), userId, now, now});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO tasks (id, title, description, status, priority, project_id, " +
+                "created_at, updated_at) VALUES (?, ?, ?, 'PENDING', 'MEDIUM', ?, ?, ?)", rows);
+
+        taskSearchIndex.rebuildAsync();
+        while (!Boolean.TRUE.equals(taskSearchIndex.status().get("ready"))
+                || Boolean.TRUE.equals(taskSearchIndex.status().get("rebuilding"))) {
+            Thread.sleep(50);
+        }
+    }
+
+    @Test
+    void compareLikeQueryWithInvertedIndex() {
+        System.out.printf("%nSearch benchmark over %d tasks (%d iterations per query)%n", taskCount, ITERATIONS);
+        System.out.printf("%-16s %-14s %10s %10s %8s%n", "query", "path", "p50 (us)", "p99 (us)", "hits");
+        for (String query : QUERIES) {
+            int likeHits = taskRepository.searchTasksByUser(userId, query, Sort.unsorted(), Limit.unlimited()).size();
+            report(query, "like", likeHits,
+                    () -> taskRepository.searchTasksByUser(userId, query, Sort.unsorted(), Limit.unlimited()));
+            List<Long> indexed = taskSearchIndex.search(userId, query, Integer.MAX_VALUE);
+            report(query, "index", indexed.size(), () -> taskSearchIndex.search(userId, query, Integer.MAX_VALUE));
+            List<Long> page = taskSearchIndex.search(userId, query, PAGE);
+            report(query, "index top " + PAGE, page.size(), () -> taskSearchIndex.search(userId, query, PAGE));
+            report(query, "top+fetch", page.size(), () -> page.isEmpty() ? List.of()
+                    : taskRepository.findByIdInAndUserId(taskSearchIndex.search(userId, query, PAGE), userId, Sort.unsorted(), Limit.unlimited()));
+            if (!query.contains(" ")) {
+                assertTrue(indexed.size() <= likeHits, "index matches word prefixes, a subset of LIKE hits");
+            }
+        }
+    }
+
+    private void report(String query, String path, int hits, Supplier<?> search) {
+        for (int i = 0; i < ITERATIONS / 10; i++) {
+            search.get();
+        }
+        long[] micros = new long[ITERATIONS];
+        for (int i = 0; i < ITERATIONS; i++) {
+            long start = System.nanoTime();
+            search.get();
+            micros[i] = (System.nanoTime() - start) / 1_000;
+        }
+        Arrays.sort(micros);
+        System.out.printf("%-16s %-14s %10d %10d %8d%n", query, path,
+                micros[ITERATIONS / 2], micros[ITERATIONS * 99 / 100], hits);
+    }
+
+    private static String sentence(Random random, int words) {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < words; i++) {
+            text.append(i == 0 ? "" : " ").append(WORDS[random.nextInt(WORDS.length)]);
+        }
+        return text.toString();
+    }
+}
@@ -0,0 +1,27 @@
+package com.rubix.project_management.search;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class UserIndexTest {
+
+    @Test
+    void topResultsAreTheHeadOfTheFullRanking() {
+        UserIndex index = new UserIndex();
+        for (long id = 1; id <= 500; id++) {
+            // Varying weights and many ties on the score
+            index.put(id, id % 7 == 0 ? "alpha report" : "alpha", "alpha ".repeat((int) (id % 5)) + "notes");
+        }
+        List<String> terms = Tokenizer.distinctTerms("a");
+
+        List<Long> all = index.search(terms, Integer.MAX_VALUE);
+        assertEquals(500, all.size());
+        for (int limit : new int[]{1, 10, 50, 499}) {
+            assertEquals(all.subList(0, limit), index.search(terms, limit));
+        }
+        assertEquals(all, index.search(terms, 1000));
+    }
+}
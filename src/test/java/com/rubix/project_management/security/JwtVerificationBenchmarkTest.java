@@ -0,0 +1,80 @@
+package com.rubix.project_management.security;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.Date;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+// Per-request token verification cost: the old three-parse path vs. verify() with and without the cache.
+// Run with: mvn test -Pbenchmark -Dtest=JwtVerificationBenchmarkTest
+@Tag("benchmark")
+class JwtVerificationBenchmarkTest {
+
+    private static final String SECRET = "5367566B59703373367639792F423F4528482B4D6251655468576D5A71347437";
+    private static final int WARMUP = 20_000;
+    private static final int ITERATIONS = 100_000;
+
+    @Test
+    void compareVerificationPaths() {
+        JwtUtil uncached = jwtUtil(false);
+        JwtUtil cached = jwtUtil(true);
+        UserDetails user = User.withUsername("bench").password("x").roles("USER").build();
+        String token = uncached.generateToken(user);
+
+        System.out.printf("%nJWT verification, %d iterations%n", ITERATIONS);
+        report("before: 3 parses, key per call", () -> legacyFilterPath(token, user));
+        report("verify() uncached", () -> uncached.verify(token).getUsername());
+        report("verify() cached", () -> cached.verify(token).getUsername());
+        assertEquals("bench", cached.verify(token).getUsername());
+    }
+
+    // What JwtAuthFilter used to do: extractUsername, then validateToken (extractUsername + extractExpiration),
+    // each deriving the key and building a parser
+    private static String legacyFilterPath(String token, UserDetails user) {
+        String username = legacyParse(token).getSubject();
+        boolean valid = legacyParse(token).getSubject().equals(user.getUsername())
+                && !legacyParse(token).getExpiration().before(new Date());
+        return valid ? username : null;
+    }
+
+    private static Claims legacyParse(String token) {
+        return Jwts.parser()
+                .verifyWith(Keys.hmacShaKeyFor(SECRET.getBytes()))
+                .build()
+                .parseSignedClaims(token)
+                .getPayload();
+    }
+
+    private static JwtUtil jwtUtil(boolean cacheEnabled) {
+        JwtUtil jwtUtil = new JwtUtil();
+        ReflectionTestUtils.setField(jwtUtil, "secret", SECRET);
+        ReflectionTestUtils.setField(jwtUtil, "expiration", 86_400_000L);
+        ReflectionTestUtils.setField(jwtUtil, "verificationCacheEnabled", cacheEnabled);
+        ReflectionTestUtils.setField(jwtUtil, "verificationCacheMaximumSize", 10_000L);
+        ReflectionTestUtils.setField(jwtUtil, "verificationCacheTtl", Duration.ofMinutes(1));
+        jwtUtil.init();
+        return jwtUtil;
+    }
+
+    private static void report(String label, Supplier<String> path) {
+        for (int i = 0; i < WARMUP; i++) {
+            path.get();
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            path.get();
+        }
+        long nanosPerOp = (System.nanoTime() - start) / ITERATIONS;
+        System.out.printf("%-34s %8d ns/op%n", label, nanosPerOp);
+    }
+}
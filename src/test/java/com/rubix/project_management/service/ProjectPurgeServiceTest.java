@@ -0,0 +1,67 @@
+package com.rubix.project_management.service;
+
+import com.rubix.project_management.dto.ProjectRequest;
+import com.rubix.project_management.dto.RegisterRequest;
+import com.rubix.project_management.dto.TaskPatch;
+import com.rubix.project_management.dto.TaskRequest;
+import com.rubix.project_management.enums.Priority;
+import com.rubix.project_management.enums.Status;
+import com.rubix.project_management.history.TaskHistoryRecorder;
+import com.rubix.project_management.repository.UserRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@SpringBootTest
+class ProjectPurgeServiceTest {
+
+    @Autowired
+    private AuthService authService;
+    @Autowired
+    private ProjectService projectService;
+    @Autowired
+    private TaskService taskService;
+    @Autowired
+    private ProjectPurgeService purgeService;
+    @Autowired
+    private TaskHistoryRecorder historyRecorder;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void purgeLeavesNoHistoryBehind() {
+        authService.register(new RegisterRequest("purger", "purger@example.com", "secret1"));
+        Long userId = userRepository.findByUsername("purger").orElseThrow().getId();
+        Long projectId = projectService.createProject(userId, new ProjectRequest("Purged", null)).getId();
+        for (int i = 0; i < 5; i++) {
+            Long taskId = taskService.createTask(userId, projectId,
+                    new TaskRequest("task " + i, null, Status.PENDING, Priority.LOW, LocalDate.now())).getId();
+            TaskPatch patch = new TaskPatch();
+            patch.setTitle("renamed " + i);
+            taskService.patchTask(userId, projectId, taskId, patch, null);
+        }
+
+        // The entries of the writes above are still queued when the project is deleted and purged
+        double purgedTasks = meterRegistry.counter("app.purge.purged.tasks").count();
+        projectService.deleteProject(userId, projectId);
+        purgeService.purge();
+        historyRecorder.flushAll();
+
+        assertEquals(0, jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM task_history WHERE project_id = ?", Integer.class, projectId));
+        assertEquals(0, jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM tasks WHERE project_id = ?", Integer.class, projectId));
+        assertEquals(5, meterRegistry.counter("app.purge.purged.tasks").count() - purgedTasks);
+        assertEquals(0, meterRegistry.get("app.purge.pending.projects").gauge().value());
+    }
+}
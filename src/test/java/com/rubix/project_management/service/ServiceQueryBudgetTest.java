@@ -0,0 +1,384 @@
+package com.rubix.project_management.service;
+
+import com.rubix.project_management.dto.*;
+import com.rubix.project_management.entity.Project;
+import com.rubix.project_management.entity.Task;
+import com.rubix.project_management.enums.BatchOperationType;
+import com.rubix.project_management.enums.Priority;
+import com.rubix.project_management.enums.Status;
+import com.rubix.project_management.exception.ResourceNotFoundException;
+import com.rubix.project_management.history.TaskHistoryRecorder;
+import com.rubix.project_management.repository.ProjectRepository;
+import com.rubix.project_management.repository.TaskRepository;
+import com.rubix.project_management.repository.UserRepository;
+import com.rubix.project_management.support.QueryBudget;
+import com.rubix.project_management.support.QueryBudgetTest;
+import com.rubix.project_management.support.SqlRecorder;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Statement budgets for the service layer. Budgets hold regardless of how many rows a call
+// returns; raising one should come with a reason in the commit that does it.
+@QueryBudgetTest
+class ServiceQueryBudgetTest {
+
+    private static final AtomicInteger USERS = new AtomicInteger();
+
+    @Autowired
+    private AuthService authService;
+    @Autowired
+    private ProjectService projectService;
+    @Autowired
+    private TaskService taskService;
+    @Autowired
+    private TaskCounterService taskCounterService;
+    @Autowired
+    private TaskHistoryService taskHistoryService;
+    @Autowired
+    private TaskHistoryRecorder taskHistoryRecorder;
+    @Autowired
+    private SyncService syncService;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private ProjectRepository projectRepository;
+    @Autowired
+    private TaskRepository taskRepository;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    private TransactionTemplate transaction;
+
+    private String username;
+    private Long userId;
+    private Long projectId;
+    private List<Long> taskIds;
+
+    @BeforeEach
+    void seed() {
+        transaction = new TransactionTemplate(transactionManager);
+        username = "budget" + USERS.incrementAndGet();
+        authService.register(new RegisterRequest(username, username + "@example.com", "secret1"));
+        userId = userRepository.findByUsername(username).orElseThrow().getId();
+        projectId = projectService.createProject(userId, new ProjectRequest("Budget", null)).getId();
+        taskIds = createTasks(projectId, 50);
+    }
+
+    private List<Long> createTasks(Long projectId, int count) {
+        List<TaskBatchOperation> operations = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            operations.add(new TaskBatchOperation(BatchOperationType.CREATE, null, task("budget task " + i)));
+        }
+        return taskService.applyBatch(userId, projectId, operations).stream()
+                .map(TaskBatchResult::getTaskId)
+                .toList();
+    }
+
+    private static TaskRequest task(String title) {
+        return new TaskRequest(title, "details", Status.PENDING, Priority.MEDIUM, LocalDate.now().plusDays(3));
+    }
+
+    @Test
+    void entityToStringAndHashCodeSkipLazyAssociations() throws Exception {
+        transaction.executeWithoutResult(tx -> {
+            Task task = taskRepository.findById(taskIds.get(0)).orElseThrow();
+            Project project = projectRepository.findById(projectId).orElseThrow();
+            try {
+                QueryBudget.atMost(0, "Task/Project toString and hashCode", () -> {
+                    task.toString();
+                    task.hashCode();
+                    project.toString();
+                    project.hashCode();
+                });
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        });
+    }
+
+    @Test
+    void register() throws Exception {
+        QueryBudget.atMost(3, "register", () -> authService.register(
+                new RegisterRequest(username + "x", username + "x@example.com", "secret1")));
+    }
+
+    @Test
+    void login() throws Exception {
+        QueryBudget.atMost(2, "login", () -> authService.login(new LoginRequest(username, "secret1")));
+    }
+
+    @Test
+    void createProject() throws Exception {
+        QueryBudget.atMost(2, "createProject", () -> projectService.createProject(userId, new ProjectRequest("New", null)));
+    }
+
+    @Test
+    void getAllProjects() throws Exception {
+        for (int i = 0; i < 20; i++) {
+            projectService.createProject(userId, new ProjectRequest("More " + i, null));
+        }
+        List<ProjectResponse> projects = QueryBudget.atMost(1, "getAllProjects", () -> projectService.getAllProjects(userId));
+        assertEquals(21, projects.size());
+    }
+
+    @Test
+    void getProjectsPage() throws Exception {
+        QueryBudget.atMost(1, "getProjectsPage", () -> projectService.getProjectsPage(userId, 10, null));
+    }
+
+    @Test
+    void getProjectById() throws Exception {
+        QueryBudget.atMost(1, "getProjectById", () -> projectService.getProjectById(userId, projectId));
+    }
+
+    @Test
+    void updateProject() throws Exception {
+        QueryBudget.atMost(2, "updateProject", () -> projectService.updateProject(userId, projectId, new ProjectRequest("Renamed", "d")));
+    }
+
+    @Test
+    void patchProject() throws Exception {
+        ProjectPatch patch = new ProjectPatch();
+        patch.setName("Patched");
+        // Without If-Match the new version is read back for the ETag
+        ResourceVersion version = QueryBudget.atMost(2, "patchProject",
+                () -> projectService.patchProject(userId, projectId, patch, null));
+        assertEquals(projectService.getProjectVersion(userId, projectId).getTag(), version.getTag());
+    }
+
+    @Test
+    void deleteProject() throws Exception {
+        // The soft delete and its sync tombstone, plus a sequence fetch every 50 tombstones
+        QueryBudget.atMost(3, "deleteProject", () -> projectService.deleteProject(userId, projectId));
+    }
+
+    @Test
+    void projectDeletedElsewhereRefusesTaskWrites() throws Exception {
+        QueryBudget.atMost(1, "getAllTasks (owner cached)", () -> taskService.getAllTasks(userId, projectId, null, null, null));
+        // Deleted by another instance: this instance's ownership cache still has the project
+        transaction.executeWithoutResult(tx -> projectRepository.softDelete(projectId, userId, LocalDateTime.now()));
+
+        assertThrows(ResourceNotFoundException.class, () -> taskService.createTask(userId, projectId, task("late")));
+        TaskPatch patch = new TaskPatch();
+        patch.setStatus(Status.COMPLETED);
+        assertThrows(ResourceNotFoundException.class, () -> taskService.patchTask(userId, projectId, taskIds.get(0), patch, null));
+        assertEquals(50, taskRepository.findIdsByProjectId(projectId, Limit.unlimited()).size());
+    }
+
+    @Test
+    void deletedProjectIsEvictedFromOwnershipCache() throws Exception {
+        QueryBudget.atMost(1, "getAllTasks (owner cached)", () -> taskService.getAllTasks(userId, projectId, null, null, null));
+        projectService.deleteProject(userId, projectId);
+        assertThrows(ResourceNotFoundException.class, () -> taskService.getAllTasks(userId, projectId, null, null, null));
+    }
+
+    @Test
+    void getProjectSummaries() throws Exception {
+        QueryBudget.atMost(2, "getSummaries", () -> taskCounterService.getSummaries(userId));
+    }
+
+    @Test
+    void createTask() throws Exception {
+        QueryBudget.atMost(3, "createTask", () -> taskService.createTask(userId, projectId, task("new")));
+    }
+
+    @Test
+    void getAllTasksDoesNotGrowWithResultSize() throws Exception {
+        Long smallProject = projectService.createProject(userId, new ProjectRequest("Small", null)).getId();
+        createTasks(smallProject, 1);
+        QueryBudget.atMost(1, "getAllTasks (1 task)", () -> taskService.getAllTasks(userId, smallProject, null, null, null));
+        List<TaskResponse> tasks = QueryBudget.atMost(1, "getAllTasks (50 tasks)",
+                () -> taskService.getAllTasks(userId, projectId, null, null, "dueDate"));
+        assertEquals(50, tasks.size());
+        QueryBudget.atMost(1, "getAllTasks (filtered)",
+                () -> taskService.getAllTasks(userId, projectId, Status.PENDING, Priority.MEDIUM, null));
+    }
+
+    @Test
+    void getTasksPage() throws Exception {
+        CursorPage<TaskResponse> page = QueryBudget.atMost(1, "getTasksPage",
+                () -> taskService.getTasksPage(userId, projectId, null, null, "dueDate", 20, null));
+        QueryBudget.atMost(1, "getTasksPage (next)",
+                () -> taskService.getTasksPage(userId, projectId, null, null, "dueDate", 20, page.getNextCursor()));
+    }
+
+    @Test
+    void searchTasks() throws Exception {
+        List<TaskResponse> tasks = QueryBudget.atMost(1, "searchTasks", () -> taskService.searchTasks(userId, "budget", null, 50));
+        assertEquals(50, tasks.size());
+    }
+
+    @Test
+    void searchTasksWithoutLimitReturnsEveryMatch() {
+        createTasks(projectId, 30);
+        List<TaskResponse> all = taskService.searchTasks(userId, "budget", "title", null);
+        assertEquals(80, all.size());
+        // The first page in title order across all matches, not the best ranked matches sorted by title
+        List<TaskResponse> page = taskService.searchTasks(userId, "budget", "title", 10);
+        assertEquals(all.subList(0, 10).stream().map(TaskResponse::getTitle).toList(),
+                page.stream().map(TaskResponse::getTitle).toList());
+    }
+
+    @Test
+    void exportTasks() throws Exception {
+        List<TaskResponse> exported = new ArrayList<>();
+        QueryBudget.atMost(1, "exportTasks", () -> taskService.exportTasks(userId, null, null, null, exported::add));
+        assertEquals(50, exported.size());
+    }
+
+    @Test
+    void getTaskById() throws Exception {
+        QueryBudget.atMost(1, "getTaskById", () -> taskService.getTaskById(userId, projectId, taskIds.get(0)));
+    }
+
+    @Test
+    void updateTask() throws Exception {
+        // The counters update runs even without a count change: it moves the task list version
+        QueryBudget.atMost(3, "updateTask", () -> taskService.updateTask(userId, projectId, taskIds.get(0), task("changed"), null));
+    }
+
+    @Test
+    void patchTask() throws Exception {
+        TaskPatch dueDate = new TaskPatch();
+        dueDate.setDueDate(null);
+        // Without If-Match the new version is read back for the change event
+        QueryBudget.atMost(3, "patchTask (dueDate)",
+                () -> taskService.patchTask(userId, projectId, taskIds.get(0), dueDate, null));
+        // Status and priority changes read the old values for the counters first
+        TaskPatch status = new TaskPatch();
+        status.setStatus(Status.COMPLETED);
+        QueryBudget.atMost(3, "patchTask (status)",
+                () -> taskService.patchTask(userId, projectId, taskIds.get(0), status, 1L));
+    }
+
+    @Test
+    void patchTaskWritesOnlyPatchedColumns() throws Exception {
+        TaskPatch patch = new TaskPatch();
+        patch.setDueDate(LocalDate.now());
+        List<String> statements = transaction.execute(status -> {
+            try {
+                return SqlRecorder.statementsOf(() -> taskService.patchTask(userId, projectId, taskIds.get(0), patch, null));
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        String update = statements.stream().filter(sql -> sql.startsWith("update tasks")).findFirst().orElseThrow();
+        assertTrue(update.contains("due_date"), update);
+        assertFalse(update.contains("title") || update.contains("description") || update.contains("status"), update);
+    }
+
+    @Test
+    void getTaskHistory() throws Exception {
+        Long taskId = taskIds.get(0);
+        for (int i = 0; i < 45; i++) {
+            TaskPatch patch = new TaskPatch();
+            patch.setTitle("title " + i);
+            taskService.patchTask(userId, projectId, taskId, patch, null);
+        }
+        taskHistoryRecorder.flushAll();
+        // The latest entries plus the deltas back to the snapshot before them
+        List<TaskHistoryResponse> history = QueryBudget.atMost(2, "getTaskHistory",
+                () -> taskHistoryService.getTaskHistory(userId, projectId, taskId, 10));
+        assertEquals(10, history.size());
+        assertEquals(List.of("title"), history.get(0).getChangedFields());
+        assertEquals("title 44", history.get(0).getTask().getTitle());
+        assertEquals("title 35", history.get(9).getTask().getTitle());
+        assertEquals("details", history.get(9).getTask().getDescription());
+    }
+
+    @Test
+    void sync() throws Exception {
+        SyncResponse initial = QueryBudget.atMost(2, "sync (initial)", () -> syncService.sync(userId, null, 20));
+        assertEquals(20, initial.getTasks().size());
+        assertTrue(initial.isHasMore());
+        SyncResponse next = QueryBudget.atMost(1, "sync (next page)",
+                () -> syncService.sync(userId, initial.getWatermark(), 100));
+        assertEquals(30, next.getTasks().size());
+
+        taskService.deleteTask(userId, projectId, taskIds.get(0), null);
+        SyncResponse delta = QueryBudget.atMost(3, "sync (delta)",
+                () -> syncService.sync(userId, next.getWatermark(), 100));
+        assertEquals(List.of(taskIds.get(0)), delta.getDeletedTaskIds());
+    }
+
+    @Test
+    void updateTaskStatus() throws Exception {
+        QueryBudget.atMost(3, "updateTaskStatus",
+                () -> taskService.updateTaskStatus(userId, projectId, taskIds.get(0), Status.COMPLETED, null));
+    }
+
+    @Test
+    void deleteTask() throws Exception {
+        // Includes the sync tombstone and, every 50 tombstones, its sequence fetch
+        QueryBudget.atMost(5, "deleteTask", () -> taskService.deleteTask(userId, projectId, taskIds.get(0), null));
+    }
+
+    @Test
+    void applyBatchDoesNotGrowWithOperationCount() throws Exception {
+        List<TaskBatchOperation> operations = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            operations.add(new TaskBatchOperation(BatchOperationType.CREATE, null, task("batch " + i)));
+        }
+        for (int i = 0; i < 20; i++) {
+            operations.add(new TaskBatchOperation(BatchOperationType.UPDATE, taskIds.get(i), task("updated " + i)));
+        }
+        for (int i = 20; i < 30; i++) {
+            operations.add(new TaskBatchOperation(BatchOperationType.DELETE, taskIds.get(i), null));
+        }
+        QueryBudget.atMost(9, "applyBatch (130 operations)", () -> taskService.applyBatch(userId, projectId, operations));
+    }
+
+    @Test
+    void applyBatchOfThousandCreates() throws Exception {
+        List<TaskBatchOperation> warmUp = new ArrayList<>();
+        List<TaskBatchOperation> operations = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            warmUp.add(new TaskBatchOperation(BatchOperationType.CREATE, null, task("warm-up " + i)));
+            operations.add(new TaskBatchOperation(BatchOperationType.CREATE, null, task("bulk " + i)));
+        }
+        taskService.applyBatch(userId, projectId, warmUp);
+
+        long started = System.nanoTime();
+        // One batched INSERT and the counter update; ids come from tasks_seq 50 at a time
+        List<TaskBatchResult> results = QueryBudget.atMost(23, "applyBatch (1000 creates)",
+                () -> taskService.applyBatch(userId, projectId, operations));
+        long millis = (System.nanoTime() - started) / 1_000_000;
+        assertTrue(results.stream().allMatch(result -> result.getStatus() == 201));
+        assertTrue(millis < 1000, "1000 inserts took " + millis + " ms");
+    }
+
+    @Test
+    void applyBatchReportsInvalidOperationsAlone() throws Exception {
+        List<TaskBatchOperation> operations = List.of(
+                new TaskBatchOperation(BatchOperationType.CREATE, null, task("valid")),
+                new TaskBatchOperation(BatchOperationType.CREATE, null, task(" ")),
+                new TaskBatchOperation(BatchOperationType.UPDATE, taskIds.get(0),
+                        new TaskRequest("too long", "x".repeat(2001), Status.PENDING, Priority.LOW, null)),
+                new TaskBatchOperation(BatchOperationType.UPDATE, taskIds.get(1), task("updated")),
+                new TaskBatchOperation(BatchOperationType.DELETE, taskIds.get(1), null));
+
+        List<TaskBatchResult> results = taskService.applyBatch(userId, projectId, operations);
+
+        assertEquals(List.of(201, 400, 400, 200, 204), results.stream().map(TaskBatchResult::getStatus).toList());
+        assertEquals("task.title: Task title is required", results.get(1).getMessage());
+        assertEquals("task.description: Description must not exceed 2000 characters", results.get(2).getMessage());
+        // Updated, then deleted by the next operation
+        assertEquals(null, results.get(3).getTask());
+        assertEquals("budget task 0", taskService.getTaskById(userId, projectId, taskIds.get(0)).getTitle());
+        assertThrows(ResourceNotFoundException.class, () -> taskService.getTaskById(userId, projectId, taskIds.get(1)));
+    }
+}
@@ -0,0 +1,73 @@
+package com.rubix.project_management.service;
+
+import com.rubix.project_management.dto.ProjectRequest;
+import com.rubix.project_management.dto.RegisterRequest;
+import com.rubix.project_management.dto.SyncResponse;
+import com.rubix.project_management.dto.TaskRequest;
+import com.rubix.project_management.dto.TaskResponse;
+import com.rubix.project_management.enums.Priority;
+import com.rubix.project_management.enums.Status;
+import com.rubix.project_management.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// No commit window: only the open transaction keeps the watermark back
+@SpringBootTest(properties = "app.sync.commit-window=0s")
+class SyncServiceTest {
+
+    @Autowired
+    private AuthService authService;
+    @Autowired
+    private ProjectService projectService;
+    @Autowired
+    private TaskService taskService;
+    @Autowired
+    private SyncService syncService;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void watermarkDoesNotPassAnOpenWriteTransaction() throws Exception {
+        authService.register(new RegisterRequest("syncer", "syncer@example.com", "secret1"));
+        Long userId = userRepository.findByUsername("syncer").orElseThrow().getId();
+        Long projectId = projectService.createProject(userId, new ProjectRequest("Sync", null)).getId();
+
+        CountDownLatch written = new CountDownLatch(1);
+        CountDownLatch commit = new CountDownLatch(1);
+        CompletableFuture<TaskResponse> slowWrite = CompletableFuture.supplyAsync(() ->
+                new TransactionTemplate(transactionManager).execute(tx -> {
+                    TaskResponse task = taskService.createTask(userId, projectId,
+                            new TaskRequest("slow", null, Status.PENDING, Priority.LOW, null));
+                    written.countDown();
+                    try {
+                        commit.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    return task;
+                }));
+        assertTrue(written.await(10, TimeUnit.SECONDS));
+        Thread.sleep(50);
+
+        SyncResponse before = syncService.sync(userId, null, 100);
+        assertTrue(before.getTasks().isEmpty());
+        commit.countDown();
+        TaskResponse task = slowWrite.get(10, TimeUnit.SECONDS);
+
+        SyncResponse after = syncService.sync(userId, before.getWatermark(), 100);
+        assertEquals(1, after.getTasks().size());
+        assertEquals(task.getId(), after.getTasks().get(0).getId());
+    }
+}
@@ -0,0 +1,144 @@
+package com.rubix.project_management.service;
+
+import com.rubix.project_management.dto.CounterReconciliationReport;
+import com.rubix.project_management.dto.ProjectRequest;
+import com.rubix.project_management.dto.ProjectSummaryResponse;
+import com.rubix.project_management.dto.RegisterRequest;
+import com.rubix.project_management.dto.TaskBatchOperation;
+import com.rubix.project_management.dto.TaskPatch;
+import com.rubix.project_management.dto.TaskRequest;
+import com.rubix.project_management.enums.BatchOperationType;
+import com.rubix.project_management.enums.Priority;
+import com.rubix.project_management.enums.Status;
+import com.rubix.project_management.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+class TaskCounterServiceTest {
+
+    @Autowired
+    private AuthService authService;
+    @Autowired
+    private ProjectService projectService;
+    @Autowired
+    private TaskService taskService;
+    @Autowired
+    private TaskCounterService taskCounterService;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Long userId;
+    private Long projectId;
+
+    @BeforeEach
+    void setUp() {
+        String username = "counter" + System.nanoTime();
+        authService.register(new RegisterRequest(username, username + "@example.com", "secret1"));
+        userId = userRepository.findByUsername(username).orElseThrow().getId();
+        projectId = projectService.createProject(userId, new ProjectRequest("Counted", null)).getId();
+        Long otherProjectId = projectService.createProject(userId, new ProjectRequest("Other", null)).getId();
+
+        // Creates of every status and priority, some overdue
+        LocalDate today = LocalDate.now();
+        List<Long> taskIds = new ArrayList<>();
+        for (int i = 0; i < 12; i++) {
+            taskIds.add(taskService.createTask(userId, projectId, new TaskRequest("task " + i, null,
+                    Status.values()[i % 3], Priority.values()[i % 3], today.plusDays(i % 4 - 2))).getId());
+        }
+        taskService.createTask(userId, otherProjectId,
+                new TaskRequest("other", null, Status.IN_PROGRESS, Priority.HIGH, today.minusDays(1)));
+
+        taskService.updateTaskStatus(userId, projectId, taskIds.get(0), Status.COMPLETED, null);
+        taskService.updateTaskStatus(userId, projectId, taskIds.get(1), Status.PENDING, null);
+        TaskPatch patch = new TaskPatch();
+        patch.setPriority(Priority.HIGH);
+        patch.setStatus(Status.IN_PROGRESS);
+        taskService.patchTask(userId, projectId, taskIds.get(2), patch, null);
+        taskService.updateTask(userId, projectId, taskIds.get(3),
+                new TaskRequest("replaced", null, Status.COMPLETED, Priority.LOW, null), null);
+        taskService.applyBatch(userId, projectId, List.of(
+                new TaskBatchOperation(BatchOperationType.CREATE, null,
+                        new TaskRequest("batch", null, Status.IN_PROGRESS, Priority.MEDIUM, today.minusDays(3))),
+                new TaskBatchOperation(BatchOperationType.UPDATE, taskIds.get(4),
+                        new TaskRequest("batch update", null, Status.PENDING, Priority.HIGH, null)),
+                new TaskBatchOperation(BatchOperationType.DELETE, taskIds.get(5), null)));
+        taskService.deleteTask(userId, projectId, taskIds.get(6), null);
+        taskService.deleteTask(userId, projectId, taskIds.get(7), null);
+    }
+
+    @Test
+    void summariesMatchAGroupByOverTasks() {
+        assertSummariesMatchTasks();
+    }
+
+    @Test
+    void reconcileReportsAndRepairsACorruptedRow() {
+        jdbcTemplate.update("UPDATE project_task_counts SET total = total + 3, pending = pending - 1, " +
+                "high_priority = high_priority + 2 WHERE project_id = ?", projectId);
+
+        CounterReconciliationReport report = taskCounterService.reconcile();
+        assertTrue(report.getDriftedProjectIds().contains(projectId));
+        assertTrue(report.getAbsoluteDrift() >= 6);
+        assertSummariesMatchTasks();
+
+        assertFalse(taskCounterService.reconcile().getDriftedProjectIds().contains(projectId));
+    }
+
+    private void assertSummariesMatchTasks() {
+        Map<Long, ProjectSummaryResponse> expected = new HashMap<>();
+        jdbcTemplate.query("SELECT t.project_id, t.status, t.priority, COUNT(*) FROM tasks t " +
+                "JOIN projects p ON p.id = t.project_id WHERE p.user_id = ? " +
+                "GROUP BY t.project_id, t.status, t.priority", rs -> {
+            ProjectSummaryResponse summary = expected.computeIfAbsent(rs.getLong(1), this::emptySummary);
+            long count = rs.getLong(4);
+            summary.setTotalTasks(summary.getTotalTasks() + count);
+            summary.getByStatus().merge(Status.valueOf(rs.getString(2)), count, Long::sum);
+            summary.getByPriority().merge(Priority.valueOf(rs.getString(3)), count, Long::sum);
+        }, userId);
+        jdbcTemplate.query("SELECT t.project_id, COUNT(*) FROM tasks t " +
+                "JOIN projects p ON p.id = t.project_id WHERE p.user_id = ? " +
+                "AND t.due_date < ? AND t.status <> 'COMPLETED' GROUP BY t.project_id", rs -> {
+            expected.computeIfAbsent(rs.getLong(1), this::emptySummary).setOverdueTasks(rs.getLong(2));
+        }, userId, LocalDate.now());
+
+        List<ProjectSummaryResponse> summaries = taskCounterService.getSummaries(userId);
+        assertEquals(2, summaries.size());
+        for (ProjectSummaryResponse summary : summaries) {
+            ProjectSummaryResponse counted = expected.getOrDefault(summary.getProjectId(),
+                    emptySummary(summary.getProjectId()));
+            assertEquals(counted.getTotalTasks(), summary.getTotalTasks(), "total of " + summary.getName());
+            assertEquals(counted.getByStatus(), summary.getByStatus(), "status counts of " + summary.getName());
+            assertEquals(counted.getByPriority(), summary.getByPriority(), "priority counts of " + summary.getName());
+            assertEquals(counted.getOverdueTasks(), summary.getOverdueTasks(), "overdue of " + summary.getName());
+        }
+    }
+
+    private ProjectSummaryResponse emptySummary(Long projectId) {
+        Map<Status, Long> byStatus = new EnumMap<>(Status.class);
+        for (Status status : Status.values()) {
+            byStatus.put(status, 0L);
+        }
+        Map<Priority, Long> byPriority = new EnumMap<>(Priority.class);
+        for (Priority priority : Priority.values()) {
+            byPriority.put(priority, 0L);
+        }
+        return new ProjectSummaryResponse(projectId, null, 0, byStatus, byPriority, 0);
+    }
+}
@@ -0,0 +1,126 @@
+package com.rubix.project_management.service;
+
+import com.rubix.project_management.dto.CursorPage;
+import com.rubix.project_management.dto.ProjectRequest;
+import com.rubix.project_management.dto.RegisterRequest;
+import com.rubix.project_management.dto.TaskRequest;
+import com.rubix.project_management.dto.TaskResponse;
+import com.rubix.project_management.enums.Priority;
+import com.rubix.project_management.enums.Status;
+import com.rubix.project_management.enums.TaskSortField;
+import com.rubix.project_management.exception.BadRequestException;
+import com.rubix.project_management.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+class TaskPaginationTest {
+
+    private static final int TASKS = 37;
+
+    @Autowired
+    private AuthService authService;
+    @Autowired
+    private ProjectService projectService;
+    @Autowired
+    private TaskService taskService;
+    @Autowired
+    private UserRepository userRepository;
+
+    private Long userId;
+    private Long projectId;
+
+    // Few distinct keys so every field has ties, and a third of the due dates are null
+    @BeforeEach
+    void setUp() {
+        if (userId == null) {
+            userId = userRepository.findByUsername("pager")
+                    .orElseGet(() -> {
+                        authService.register(new RegisterRequest("pager", "pager@example.com", "secret1"));
+                        return userRepository.findByUsername("pager").orElseThrow();
+                    }).getId();
+        }
+        projectId = projectService.createProject(userId, new ProjectRequest("Paged", null)).getId();
+        LocalDate today = LocalDate.now();
+        for (int i = 0; i < TASKS; i++) {
+            taskService.createTask(userId, projectId, new TaskRequest(
+                    "task " + (i % 5), null,
+                    Status.values()[i % Status.values().length],
+                    Priority.values()[i % Priority.values().length],
+                    i % 3 == 0 ? null : today.plusDays(i % 4)));
+        }
+    }
+
+    @Test
+    void everyPageOfEverySortFieldCoversTheListingOnce() {
+        List<TaskResponse> listing = taskService.getAllTasks(userId, projectId, null, null, null);
+        assertEquals(TASKS, listing.size());
+
+        for (TaskSortField field : TaskSortField.values()) {
+            List<Long> expected = listing.stream().sorted(order(field)).map(TaskResponse::getId).toList();
+            for (int limit : new int[]{1, 4, 12}) {
+                List<Long> paged = walk(field, null, limit);
+                assertEquals(expected, paged, field + " with limit " + limit);
+            }
+        }
+    }
+
+    @Test
+    void filteredPagesCoverTheFilteredListingOnce() {
+        List<TaskResponse> listing = taskService.getAllTasks(userId, projectId, Status.PENDING, null, null);
+        List<Long> expected = listing.stream().sorted(order(TaskSortField.DUE_DATE))
+                .map(TaskResponse::getId).toList();
+        assertTrue(expected.size() > 3);
+        assertEquals(expected, walk(TaskSortField.DUE_DATE, Status.PENDING, 3));
+    }
+
+    @Test
+    void cursorOfAnotherSortIsRejected() {
+        CursorPage<TaskResponse> page = taskService.getTasksPage(userId, projectId, null, null, "dueDate", 5, null);
+        assertNotNull(page.getNextCursor());
+        assertThrows(BadRequestException.class, () -> taskService.getTasksPage(
+                userId, projectId, null, null, "title", 5, page.getNextCursor()));
+        assertThrows(BadRequestException.class, () -> taskService.getTasksPage(
+                userId, projectId, null, null, null, 5, page.getNextCursor()));
+    }
+
+    private List<Long> walk(TaskSortField field, Status status, int limit) {
+        List<Long> ids = new ArrayList<>();
+        Set<Long> seen = new HashSet<>();
+        String after = null;
+        do {
+            CursorPage<TaskResponse> page = taskService.getTasksPage(
+                    userId, projectId, status, null, field.getProperty(), limit, after);
+            assertTrue(page.getItems().size() <= limit);
+            for (TaskResponse task : page.getItems()) {
+                assertTrue(seen.add(task.getId()), "task " + task.getId() + " returned twice for " + field);
+                ids.add(task.getId());
+            }
+            after = page.getNextCursor();
+        } while (after != null);
+        return ids;
+    }
+
+    // The order pages promise: the key ascending with nulls last (enums by stored name), then id
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static Comparator<TaskResponse> order(TaskSortField field) {
+        Comparator<Object> key = Comparator.nullsLast((a, b) -> a instanceof Enum<?> ea
+                ? ea.name().compareTo(((Enum<?>) b).name())
+                : ((Comparable) a).compareTo(b));
+        return Comparator.comparing(field.getExtractor(), key).thenComparing(TaskResponse::getId);
+    }
+}
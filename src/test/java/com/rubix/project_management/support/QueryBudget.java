@@ -0,0 +1,65 @@
+package com.rubix.project_management.support;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// Statement budgets for service calls and MockMvc requests, run on the calling thread:
+//
+//   List<TaskResponse> tasks = QueryBudget.atMost(2, "getAllTasks", () -> taskService.getAllTasks(...));
+//
+// A call over budget fails with every statement it ran, and repeated statements flagged as likely N+1.
+public final class QueryBudget {
+
+    private QueryBudget() {
+    }
+
+    @FunctionalInterface
+    public interface Call<T> {
+        T run() throws Exception;
+    }
+
+    @FunctionalInterface
+    public interface VoidCall {
+        void run() throws Exception;
+    }
+
+    public static <T> T atMost(int maxStatements, String description, Call<T> call) throws Exception {
+        SqlRecorder.start();
+        T result;
+        List<String> statements;
+        try {
+            result = call.run();
+        } finally {
+            statements = SqlRecorder.stop();
+        }
+        if (statements.size() > maxStatements) {
+            throw new AssertionError(report(maxStatements, description, statements));
+        }
+        return result;
+    }
+
+    public static void atMost(int maxStatements, String description, VoidCall call) throws Exception {
+        atMost(maxStatements, description, () -> {
+            call.run();
+            return null;
+        });
+    }
+
+    static String report(int maxStatements, String description, List<String> statements) {
+        StringBuilder report = new StringBuilder()
+                .append(description).append(": expected at most ").append(maxStatements)
+                .append(" statements, ran ").append(statements.size()).append('\n');
+        for (int i = 0; i < statements.size(); i++) {
+            report.append(String.format("  %2d. %s%n", i + 1, statements.get(i)));
+        }
+        Map<String, Integer> repeated = new LinkedHashMap<>();
+        statements.forEach(sql -> repeated.merge(sql, 1, Integer::sum));
+        repeated.values().removeIf(count -> count < 2);
+        if (!repeated.isEmpty()) {
+            report.append("Repeated statements (possible N+1):\n");
+            repeated.forEach((sql, count) -> report.append(String.format("  %dx %s%n", count, sql)));
+        }
+        return report.toString();
+    }
+}
@@ -0,0 +1,18 @@
+package com.rubix.project_management.support;
+
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+// Spring Boot test with SqlRecorder installed, so QueryBudget can see the statements
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+@SpringBootTest(properties = {
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector=com.rubix.project_management.support.SqlRecorder",
+        "spring.jpa.show-sql=false"
+})
+public @interface QueryBudgetTest {
+}
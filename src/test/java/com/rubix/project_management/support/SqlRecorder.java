@@ -0,0 +1,44 @@
+package com.rubix.project_management.support;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// Hibernate statement inspector that records every SQL statement prepared on the current thread
+// while a QueryBudget recording is open. Enabled for tests through @QueryBudgetTest.
+public class SqlRecorder implements StatementInspector {
+
+    private static final ThreadLocal<List<String>> RECORDING = new ThreadLocal<>();
+
+    @Override
+    public String inspect(String sql) {
+        List<String> statements = RECORDING.get();
+        if (statements != null) {
+            statements.add(sql);
+        }
+        return sql;
+    }
+
+    // Statements prepared by the call, e.g. to EXPLAIN what a repository method runs
+    public static List<String> statementsOf(QueryBudget.VoidCall call) throws Exception {
+        start();
+        try {
+            call.run();
+        } catch (Exception | Error e) {
+            stop();
+            throw e;
+        }
+        return stop();
+    }
+
+    static void start() {
+        RECORDING.set(new ArrayList<>());
+    }
+
+    static List<String> stop() {
+        List<String> statements = RECORDING.get();
+        RECORDING.remove();
+        return statements == null ? List.of() : statements;
+    }
+}
@@ -0,0 +1,201 @@
+package com.rubix.project_management.threads;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.rubix.project_management.ProjectManagementApplication;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Same load against the app in platform-thread and virtual-thread mode: concurrent clients
+// reading a page of tasks and updating a task status, each request doing JPA work.
+// Run with: mvn test -Pbenchmark -Dtest=ThreadModeBenchmarkTest
+@Tag("benchmark")
+class ThreadModeBenchmarkTest {
+
+    private static final int CLIENTS = 200;
+    private static final int TASKS = 200;
+    private static final Duration WARMUP = Duration.ofSeconds(5);
+    private static final Duration MEASURE = Duration.ofSeconds(15);
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final HttpClient http = HttpClient.newBuilder()
+            .executor(Executors.newVirtualThreadPerTaskExecutor())
+            .connectTimeout(Duration.ofSeconds(10))
+            .build();
+
+    @Test
+    void comparePlatformAndVirtualThreads() throws Exception {
+        Result platform = run(false);
+        Result virtual = run(true);
+
+        System.out.printf("%n%d clients, %d s measured%n", CLIENTS, MEASURE.toSeconds());
+        System.out.printf("%-10s %10s %8s %8s %8s %8s %8s%n", "mode", "req/s", "p50 ms", "p90 ms", "p99 ms", "max ms", "errors");
+        platform.print("platform");
+        virtual.print("virtual");
+        System.out.println("virtual-thread status: " + virtual.threadStatus);
+        assertTrue(platform.requests > 0 && virtual.requests > 0);
+    }
+
+    private Result run(boolean virtualThreads) throws Exception {
+        String mode = virtualThreads ? "virtual" : "platform";
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(ProjectManagementApplication.class)
+                .run(
+                        "--server.port=0",
+                        "--spring.datasource.url=jdbc:h2:mem:bench-" + mode,
+                        "--spring.threads.virtual.enabled=" + virtualThreads,
+                        "--spring.jpa.show-sql=false",
+                        "--logging.level.root=WARN",
+                        "--logging.level.org.springframework.security=WARN",
+                        "--app.security.admin-usernames=bench",
+                        "--app.threads.max-concurrent-requests=" + CLIENTS);
+        try {
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+            String base = "http://localhost:" + port;
+            String token = post(base + "/api/auth/register", null,
+                    "{\"username\":\"bench\",\"email\":\"bench@example.com\",\"password\":\"secret1\"}").get("token").asText();
+            long projectId = post(base + "/api/projects", token, "{\"name\":\"bench\"}").get("id").asLong();
+            StringBuilder batch = new StringBuilder("{\"operations\":[");
+            for (int i = 0; i < TASKS; i++) {
+                batch.append(i == 0 ? "" : ",").append("{\"op\":\"CREATE\",\"task\":{\"title\":\"task ").append(i)
+                        .append("\",\"status\":\"PENDING\",\"priority\":\"MEDIUM\"}}");
+            }
+            JsonNode created = post(base + "/api/projects/" + projectId + "/tasks/batch", token, batch.append("]}").toString());
+            long firstTaskId = created.get(0).get("taskId").asLong();
+
+            load(base, token, projectId, firstTaskId, WARMUP);
+            Result result = load(base, token, projectId, firstTaskId, MEASURE);
+            result.threadStatus = get(base + "/api/admin/threads", token);
+            return result;
+        } finally {
+            context.close();
+        }
+    }
+
+    private Result load(String base, String token, long projectId, long firstTaskId, Duration duration) throws Exception {
+        long deadline = System.nanoTime() + duration.toNanos();
+        List<Samples> latencies = new ArrayList<>();
+        AtomicLong errors = new AtomicLong();
+        String[] statuses = {"PENDING", "IN_PROGRESS", "COMPLETED"};
+        try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int c = 0; c < CLIENTS; c++) {
+                Samples samples = new Samples();
+                latencies.add(samples);
+                int client = c;
+                clients.submit(() -> {
+                    int n = 0;
+                    while (System.nanoTime() < deadline) {
+                        HttpRequest request;
+                        if (n % 4 == 3) {
+                            long taskId = firstTaskId + (client * 7L + n) % TASKS;
+                            request = authorized(base + "/api/projects/" + projectId + "/tasks/" + taskId + "/status", token)
+                                    .header("Content-Type", "application/json")
+                                    .PUT(HttpRequest.BodyPublishers.ofString(
+                                            "{\"status\":\"" + statuses[n % statuses.length] + "\"}"))
+                                    .build();
+                        } else {
+                            request = authorized(base + "/api/projects/" + projectId + "/tasks?limit=50", token).GET().build();
+                        }
+                        long start = System.nanoTime();
+                        try {
+                            int status = http.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+                            if (status >= 400 && status != 409) {
+                                errors.incrementAndGet();
+                            }
+                        } catch (Exception e) {
+                            errors.incrementAndGet();
+                        }
+                        samples.add(System.nanoTime() - start);
+                        n++;
+                    }
+                    return null;
+                });
+            }
+        }
+        return Result.of(latencies, errors.get(), duration);
+    }
+
+    private HttpRequest.Builder authorized(String url, String token) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(url)).timeout(Duration.ofSeconds(30));
+        return token == null ? builder : builder.header("Authorization", "Bearer " + token);
+    }
+
+    private JsonNode post(String url, String token, String body) throws Exception {
+        HttpRequest request = authorized(url, token)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+        return objectMapper.readTree(http.send(request, HttpResponse.BodyHandlers.ofString()).body());
+    }
+
+    private String get(String url, String token) throws Exception {
+        return http.send(authorized(url, token).GET().build(), HttpResponse.BodyHandlers.ofString()).body();
+    }
+
+    private static class Samples {
+        long[] values = new long[1024];
+        int size;
+
+        void add(long value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+    }
+
+    private static class Result {
+        long requests;
+        long errors;
+        double throughput;
+        long[] sorted;
+        String threadStatus;
+
+        static Result of(List<Samples> latencies, long errors, Duration duration) {
+            Result result = new Result();
+            int total = 0;
+            for (Samples samples : latencies) {
+                total += samples.size;
+            }
+            result.sorted = new long[total];
+            int offset = 0;
+            for (Samples samples : latencies) {
+                System.arraycopy(samples.values, 0, result.sorted, offset, samples.size);
+                offset += samples.size;
+            }
+            Arrays.sort(result.sorted);
+            result.requests = total;
+            result.errors = errors;
+            result.throughput = total / (duration.toNanos() / 1e9);
+            return result;
+        }
+
+        double percentile(double p) {
+            if (sorted.length == 0) {
+                return 0;
+            }
+            return sorted[Math.min(sorted.length - 1, (int) (sorted.length * p))] / 1e6;
+        }
+
+        void print(String mode) {
+            System.out.printf("%-10s %10.0f %8.1f %8.1f %8.1f %8.1f %8d%n", mode, throughput,
+                    percentile(0.50), percentile(0.90), percentile(0.99), percentile(1.0), errors);
+        }
+    }
+}